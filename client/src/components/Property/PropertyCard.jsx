@@ -64,7 +64,7 @@ const PropertyCard = ({ property, viewMode = "grid" }) => {
   const getTitle = () => property.name || property.title || "Property";
 
   // Helper function to get property image (handles imageUrls vs images)
-  const getImage = () => property.imageUrls?.[0] || property.images?.[0] || "/placeholder.svg?height=200&width=300";
+  const getImage = () => property.imageUrl || property.imageUrls?.[0] || property.images?.[0] || "/placeholder.svg?height=200&width=300";
 
   // Helper function to get property location (handles various formats)
   const getLocation = () => {
@@ -440,7 +440,7 @@ const OwnerDashboard = () => {
                         <div key={property.id} className="border border-gray-200 rounded-lg p-4 hover:shadow-md transition-shadow">
                           <div className="flex items-center space-x-4">
                             <img
-                              src={property.images?.[0] || property.image || "/placeholder.svg?height=100&width=150"}
+                              src={property.imageUrl || property.images?.[0] || property.image || "/placeholder.svg?height=100&width=150"}
                               alt={property.title}
                               className="w-20 h-16 object-cover rounded-lg"
                             />
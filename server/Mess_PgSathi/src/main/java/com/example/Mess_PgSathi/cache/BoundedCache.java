@@ -0,0 +1,247 @@
+package com.example.Mess_PgSathi.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Small in-process read-through cache bounded by total weight (approximate bytes)
+ * with a per-entry time to live. Eviction is least recently used.
+ *
+ * Loaders run outside the lock. A load that overlaps an invalidation of its key
+ * (or of the whole cache) is returned to its caller but not stored, so an
+ * invalidation is never undone by a stale load; loads of other keys still store.
+ */
+public class BoundedCache<K, V> {
+
+    private final String name;
+    private final long maxWeight;
+    private final long ttlMillis;
+    private final ToLongFunction<V> weigher;
+
+    // Access ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalWeight;
+
+    // Invalidation sequence: the last one of the whole cache, and of each key with a load in flight
+    private long invalidationSeq;
+    private long allInvalidatedAt;
+    private final Map<K, Integer> loading = new HashMap<>();
+    private final Map<K, Long> invalidatedAt = new HashMap<>();
+
+    private long hits;
+    private long misses;
+    private long puts;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+
+    public BoundedCache(String name, long maxWeight, Duration ttl, ToLongFunction<V> weigher) {
+        this.name = name;
+        this.maxWeight = maxWeight;
+        this.ttlMillis = ttl.toMillis();
+        this.weigher = weigher;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Cached value for key, or the loader's result (cached unless null)
+     */
+    public V get(K key, Function<K, V> loader) {
+        long seen;
+        synchronized (this) {
+            V cached = lookup(key);
+            if (cached != null) {
+                return cached;
+            }
+            seen = startLoad(key);
+        }
+
+        V value = null;
+        try {
+            value = loader.apply(key);
+            return value;
+        } finally {
+            synchronized (this) {
+                if (value != null && !invalidatedSince(key, seen)) {
+                    store(key, value);
+                }
+                finishLoad(key);
+            }
+        }
+    }
+
+    /**
+     * Cached values for the keys; the misses are loaded in one call of the loader
+     */
+    public Map<K, V> getAll(Collection<K> keys, Function<Collection<K>, Map<K, V>> loader) {
+        Map<K, V> values = new HashMap<>();
+        List<K> missing = new ArrayList<>();
+        long seen = 0;
+        synchronized (this) {
+            for (K key : keys) {
+                V cached = lookup(key);
+                if (cached != null) {
+                    values.put(key, cached);
+                } else {
+                    missing.add(key);
+                    seen = startLoad(key);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return values;
+        }
+
+        Map<K, V> loaded = Map.of();
+        try {
+            loaded = loader.apply(missing);
+            values.putAll(loaded);
+            return values;
+        } finally {
+            synchronized (this) {
+                for (K key : missing) {
+                    V value = loaded.get(key);
+                    if (value != null && !invalidatedSince(key, seen)) {
+                        store(key, value);
+                    }
+                    finishLoad(key);
+                }
+            }
+        }
+    }
+
+    public synchronized V getIfPresent(K key) {
+        return lookup(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        store(key, value);
+    }
+
+    public synchronized void invalidate(K key) {
+        if (loading.containsKey(key)) {
+            invalidatedAt.put(key, ++invalidationSeq);
+        }
+        if (remove(key) != null) {
+            invalidations++;
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        allInvalidatedAt = ++invalidationSeq;
+        invalidations += entries.size();
+        entries.clear();
+        totalWeight = 0;
+    }
+
+    public synchronized Stats stats() {
+        long requests = hits + misses;
+        double hitRate = requests > 0 ? (double) hits / requests : 0.0;
+        return new Stats(name, entries.size(), totalWeight, maxWeight, hits, misses, hitRate,
+                puts, evictions, expirations, invalidations);
+    }
+
+    // Register a load of key; returns the sequence it has to be compared against when it finishes
+    private long startLoad(K key) {
+        loading.merge(key, 1, Integer::sum);
+        return invalidationSeq;
+    }
+
+    private boolean invalidatedSince(K key, long seen) {
+        return allInvalidatedAt > seen || invalidatedAt.getOrDefault(key, 0L) > seen;
+    }
+
+    private void finishLoad(K key) {
+        if (loading.merge(key, -1, Integer::sum) == 0) {
+            loading.remove(key);
+            invalidatedAt.remove(key);
+        }
+    }
+
+    private V lookup(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && !entry.isExpired()) {
+            hits++;
+            return entry.value;
+        }
+        if (entry != null) {
+            remove(key);
+            expirations++;
+        }
+        misses++;
+        return null;
+    }
+
+    private void store(K key, V value) {
+        long weight = Math.max(1, weigher.applyAsLong(value));
+        if (weight > maxWeight) {
+            return;
+        }
+        remove(key);
+        entries.put(key, new Entry<>(value, weight, System.currentTimeMillis() + ttlMillis));
+        totalWeight += weight;
+        puts++;
+
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (totalWeight > maxWeight && eldest.hasNext()) {
+            Entry<V> evicted = eldest.next().getValue();
+            eldest.remove();
+            totalWeight -= evicted.weight;
+            evictions++;
+        }
+    }
+
+    private Entry<V> remove(K key) {
+        Entry<V> removed = entries.remove(key);
+        if (removed != null) {
+            totalWeight -= removed.weight;
+        }
+        return removed;
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long weight;
+        final long expiresAt;
+
+        Entry(V value, long weight, long expiresAt) {
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Stats {
+        private final String name;
+        private final int size;
+        private final long weight;
+        private final long maxWeight;
+        private final long hits;
+        private final long misses;
+        private final double hitRate;
+        private final long puts;
+        private final long evictions;
+        private final long expirations;
+        private final long invalidations;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.Mess_PgSathi.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * Publishes a {@link BoundedCache}'s counters as the standard Micrometer cache
+ * meters (cache.gets, cache.puts, cache.evictions, cache.size), plus its weight
+ * and its expirations and invalidations, tagged with the cache name. Operators
+ * read them through the configured metrics registry.
+ */
+public class BoundedCacheMetrics extends CacheMeterBinder<BoundedCache<?, ?>> {
+
+    public BoundedCacheMetrics(BoundedCache<?, ?> cache) {
+        super(cache, cache.getName(), Tags.empty());
+    }
+
+    @Override
+    protected Long size() {
+        BoundedCache<?, ?> cache = getCache();
+        return cache != null ? (long) cache.stats().getSize() : null;
+    }
+
+    @Override
+    protected long hitCount() {
+        BoundedCache<?, ?> cache = getCache();
+        return cache != null ? cache.stats().getHits() : 0;
+    }
+
+    @Override
+    protected Long missCount() {
+        BoundedCache<?, ?> cache = getCache();
+        return cache != null ? cache.stats().getMisses() : null;
+    }
+
+    @Override
+    protected Long evictionCount() {
+        BoundedCache<?, ?> cache = getCache();
+        return cache != null ? cache.stats().getEvictions() : null;
+    }
+
+    @Override
+    protected long putCount() {
+        BoundedCache<?, ?> cache = getCache();
+        return cache != null ? cache.stats().getPuts() : 0;
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        BoundedCache<?, ?> cache = getCache();
+        Gauge.builder("cache.weight", cache, c -> c.stats().getWeight())
+                .tags(getTagsWithCacheName())
+                .description("Approximate bytes held by the cache")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("cache.max.weight", cache, c -> c.stats().getMaxWeight())
+                .tags(getTagsWithCacheName())
+                .description("Weight above which the least recently used entries are evicted")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("cache.expirations", cache, c -> c.stats().getExpirations())
+                .tags(getTagsWithCacheName())
+                .description("Entries dropped because their time to live ran out")
+                .register(registry);
+        FunctionCounter.builder("cache.invalidations", cache, c -> c.stats().getInvalidations())
+                .tags(getTagsWithCacheName())
+                .description("Entries dropped because the data behind them changed")
+                .register(registry);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.Mess_PgSathi.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One search result as ordered property ids; cards are hydrated from the
+ * property detail cache when it is served.
+ */
+@Getter
+@AllArgsConstructor
+public class CachedSearchResult {
+
+    private final List<String> propertyIds;
+
+    // Paged search only
+    private final String nextCursor;
+    private final Long approximateTotal;
+}
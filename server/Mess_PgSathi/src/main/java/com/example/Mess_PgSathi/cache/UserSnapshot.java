@@ -0,0 +1,25 @@
+package com.example.Mess_PgSathi.cache;
+
+import com.example.Mess_PgSathi.model.User;
+import lombok.Value;
+
+/**
+ * The parts of a user that other documents copy (names, emails, phones) plus
+ * the role and verified flag the services check. Immutable, so one cached
+ * instance can be shared by every request; the password hash is left out.
+ */
+@Value
+public class UserSnapshot {
+
+    String id;
+    String fullName;
+    String email;
+    String phoneNumber;
+    User.Role role;
+    boolean verified;
+
+    public static UserSnapshot of(User user) {
+        return new UserSnapshot(user.getId(), user.getFullName(), user.getEmail(), user.getPhoneNumber(),
+                user.getRole(), user.isVerified());
+    }
+}
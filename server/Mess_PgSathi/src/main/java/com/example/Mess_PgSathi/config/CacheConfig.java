@@ -0,0 +1,97 @@
+package com.example.Mess_PgSathi.config;
+
+import com.example.Mess_PgSathi.cache.BoundedCache;
+import com.example.Mess_PgSathi.cache.BoundedCacheMetrics;
+import com.example.Mess_PgSathi.cache.CachedSearchResult;
+import com.example.Mess_PgSathi.cache.UserSnapshot;
+import com.example.Mess_PgSathi.payload.response.PropertyResponse;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class CacheConfig {
+
+    // Fixed part of a PropertyResponse: object headers, numbers, enums and short strings
+    private static final long PROPERTY_BASE_BYTES = 1024;
+
+    @Value("${cache.property-detail.max-bytes:33554432}")
+    private long propertyDetailMaxBytes;
+
+    @Value("${cache.property-detail.ttl-minutes:10}")
+    private long propertyDetailTtlMinutes;
+
+    @Value("${cache.search-results.max-bytes:8388608}")
+    private long searchResultsMaxBytes;
+
+    @Value("${cache.search-results.ttl-minutes:5}")
+    private long searchResultsTtlMinutes;
+
+    @Value("${cache.user-snapshots.max-bytes:4194304}")
+    private long userSnapshotsMaxBytes;
+
+    @Value("${cache.user-snapshots.ttl-minutes:2}")
+    private long userSnapshotsTtlMinutes;
+
+    /**
+     * Property detail by id. Entries are invalidated through PropertyChangedEvent;
+     * the TTL only bounds staleness from writes made by other instances.
+     */
+    @Bean
+    public BoundedCache<String, PropertyResponse> propertyDetailCache() {
+        return new BoundedCache<>("propertyDetail", propertyDetailMaxBytes,
+                Duration.ofMinutes(propertyDetailTtlMinutes), CacheConfig::estimateBytes);
+    }
+
+    /**
+     * Search results as id lists, keyed by normalized filters and the city's
+     * version (see PropertySearchService), so writes never need to find entries
+     */
+    @Bean
+    public BoundedCache<String, CachedSearchResult> searchResultCache() {
+        return new BoundedCache<>("searchResults", searchResultsMaxBytes,
+                Duration.ofMinutes(searchResultsTtlMinutes),
+                result -> 256 + result.getPropertyIds().size() * 72L);
+    }
+
+    /**
+     * User snapshots under "id:" and "email:" keys, for the auth filter and the
+     * create paths that copy names and contacts. User writes invalidate both
+     * entries (see UserSnapshotService).
+     */
+    @Bean
+    public BoundedCache<String, UserSnapshot> userSnapshotCache() {
+        return new BoundedCache<>("userSnapshots", userSnapshotsMaxBytes,
+                Duration.ofMinutes(userSnapshotsTtlMinutes),
+                user -> 256 + (length(user.getFullName()) + length(user.getEmail()) + length(user.getPhoneNumber())) * 2);
+    }
+
+    /**
+     * Counters of every cache above as Micrometer meters, for operators only;
+     * they are not served to API users
+     */
+    @Bean
+    public MeterBinder boundedCacheMetrics(List<BoundedCache<?, ?>> caches) {
+        return registry -> caches.forEach(cache -> new BoundedCacheMetrics(cache).bindTo(registry));
+    }
+
+    private static long estimateBytes(PropertyResponse property) {
+        long chars = length(property.getName()) + length(property.getDescription())
+                + length(property.getAddress()) + length(property.getNearbyLandmarks())
+                + length(property.getRulesAndRegulations()) + length(property.getCollegeNearby());
+        if (property.getImageUrls() != null) {
+            for (String url : property.getImageUrls()) {
+                chars += length(url);
+            }
+        }
+        return PROPERTY_BASE_BYTES + chars * 2;
+    }
+
+    private static long length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
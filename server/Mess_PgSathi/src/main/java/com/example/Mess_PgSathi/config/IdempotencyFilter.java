@@ -0,0 +1,278 @@
+package com.example.Mess_PgSathi.config;
+
+import com.example.Mess_PgSathi.model.IdempotencyRecord;
+import com.example.Mess_PgSathi.repository.IdempotencyRecordRepository;
+import com.example.Mess_PgSathi.security.services.UserDetailsImpl;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Makes the POST endpoints that mobile clients retry safe to repeat. A request
+ * carrying an Idempotency-Key header claims the key (per user and path) by
+ * inserting an {@link IdempotencyRecord}; the first response is stored on it,
+ * and a retry with the same key gets that response back without reaching the
+ * controller. A retry that arrives while the first request is still running is
+ * turned away with 409, and a key reused with a different body with 422.
+ *
+ * Only responses that cannot change on a retry are stored: 2xx and the client
+ * errors in FINAL_STATUSES. Controllers answer 400 for every failure, transient
+ * ones included (optimistic lock retries, timeouts, sold-out races), so a 400
+ * releases the key and the retry runs the action again. The claim taken while
+ * the first request runs is leased; a claim whose lease ran out (its instance
+ * died mid-request) can be taken over by a retry with the same body.
+ *
+ * Ordered after the Spring Security filter chain, so the authenticated user is known.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    // Client errors a retry of the same request would get again
+    private static final Set<Integer> FINAL_STATUSES = Set.of(
+            HttpStatus.FORBIDDEN.value(),
+            HttpStatus.NOT_FOUND.value(),
+            HttpStatus.UNPROCESSABLE_ENTITY.value());
+
+    private static final List<String> IDEMPOTENT_PATHS = List.of(
+            "/api/bookings/request",
+            "/api/bookings/{bookingId}/confirm-payment",
+            "/api/payments/{paymentId}/record",
+            "/api/seeker/reviews");
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    @Value("${idempotency.lease-seconds:60}")
+    private long leaseSeconds;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || IDEMPOTENT_PATHS.stream().noneMatch(path -> PATH_MATCHER.match(path, request.getServletPath()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String userId = currentUserId();
+        if (userId == null) {
+            // Unauthenticated requests are rejected further down; nothing to remember
+            chain.doFilter(request, response);
+            return;
+        }
+        String key = request.getHeader(HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            writeMessage(response, HttpStatus.BAD_REQUEST, "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters!");
+            return;
+        }
+
+        // Read up front to fingerprint the request; the controller reads the copy
+        byte[] body = request.getInputStream().readAllBytes();
+        String requestHash = sha256(request.getQueryString() + "\n", body);
+
+        String id = recordId(userId, request.getServletPath(), key);
+        LocalDateTime lockedUntil = claim(id, requestHash);
+        if (lockedUntil == null) {
+            replay(id, requestHash, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(new CachedBodyRequest(request, body), cachingResponse);
+            int status = cachingResponse.getStatus();
+            if ((status >= 200 && status < 300) || FINAL_STATUSES.contains(status)) {
+                idempotencyRecordRepository.save(new IdempotencyRecord(id, requestHash, true, null, status,
+                        cachingResponse.getContentType(),
+                        new String(cachingResponse.getContentAsByteArray(), StandardCharsets.UTF_8),
+                        LocalDateTime.now()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                // Release the key so the client can try again, unless a retry already took over the claim
+                mongoTemplate.remove(new Query(Criteria.where("_id").is(id)
+                        .and("completed").is(false)
+                        .and("lockedUntil").is(lockedUntil)), IdempotencyRecord.class);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Claim the key for this request: insert a new claim, or take over one whose
+     * lease ran out if it was made for the same body. Returns the new lease
+     * expiry, or null when the key is taken.
+     */
+    private LocalDateTime claim(String id, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime lockedUntil = now.plusSeconds(leaseSeconds);
+        try {
+            idempotencyRecordRepository.insert(new IdempotencyRecord(id, requestHash, false, lockedUntil, 0, null, null, now));
+            return lockedUntil;
+        } catch (DuplicateKeyException e) {
+            Query stale = new Query(Criteria.where("_id").is(id)
+                    .and("completed").is(false)
+                    .and("lockedUntil").lt(now)
+                    .and("requestHash").is(requestHash));
+            long taken = mongoTemplate.updateFirst(stale, new Update().set("lockedUntil", lockedUntil).set("createdAt", now),
+                    IdempotencyRecord.class).getModifiedCount();
+            return taken == 1 ? lockedUntil : null;
+        }
+    }
+
+    private void replay(String id, String requestHash, HttpServletResponse response) throws IOException {
+        IdempotencyRecord record = idempotencyRecordRepository.findById(id).orElse(null);
+        if (record != null && !requestHash.equals(record.getRequestHash())) {
+            writeMessage(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "This Idempotency-Key was already used for a different request!");
+            return;
+        }
+        if (record == null || !record.isCompleted()) {
+            // Either still running, or it just failed and released the key
+            writeMessage(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress!");
+            return;
+        }
+        response.setStatus(record.getStatus());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (record.getContentType() != null) {
+            response.setContentType(record.getContentType());
+        }
+        if (record.getBody() != null) {
+            byte[] body = record.getBody().getBytes(StandardCharsets.UTF_8);
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    private static void writeMessage(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"message\":\"" + message + "\"}");
+    }
+
+    private static String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl user
+                ? user.getId()
+                : null;
+    }
+
+    // The same key sent by another user or to another endpoint is a different request
+    private static String recordId(String userId, String path, String key) {
+        return sha256(userId + "\n" + path + "\n" + key, new byte[0]);
+    }
+
+    private static String sha256(String text, byte[] bytes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * The request with its body already read into memory
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // The whole body is in memory, so it is available, and then all read, right away
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
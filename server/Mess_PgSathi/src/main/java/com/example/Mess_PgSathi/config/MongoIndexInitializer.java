@@ -0,0 +1,96 @@
+package com.example.Mess_PgSathi.config;
+
+import com.example.Mess_PgSathi.model.Booking;
+import com.example.Mess_PgSathi.model.Inquiry;
+import com.example.Mess_PgSathi.model.Payment;
+import com.example.Mess_PgSathi.model.Property;
+import com.example.Mess_PgSathi.model.Review;
+import com.example.Mess_PgSathi.model.VisitSchedule;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the indexes declared on the document classes at startup and backfills
+ * derived fields those indexes depend on. Index auto-creation is off by default
+ * in Spring Data MongoDB, so without this the annotations would be ignored.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexInitializer {
+
+    private static final List<Class<?>> VERSIONED_TYPES = List.of(
+            Booking.class, Payment.class, Property.class, Inquiry.class, Review.class, VisitSchedule.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeIndexes() {
+        backfillDerivedFields();
+
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(Document.class)) {
+                continue;
+            }
+            IndexOperations indexOps = mongoTemplate.indexOps(entity.getType());
+            resolver.resolveIndexFor(entity.getTypeInformation()).forEach(indexOps::createIndex);
+        }
+        log.info("MongoDB indexes ensured for {} collections", mappingContext.getPersistentEntities().size());
+    }
+
+    /**
+     * Fill in fields that older documents were saved without. Each backfill is a
+     * single server-side update, so it costs nothing once the data is migrated.
+     */
+    private void backfillDerivedFields() {
+        Query missingNormalizedCity = Query.query(Criteria.where("normalizedCity").exists(false).and("city").ne(null));
+        AggregationUpdate setNormalizedCity = AggregationUpdate.update()
+                .set("normalizedCity")
+                .toValue(StringOperators.valueOf(StringOperators.valueOf("city").trim()).toLower());
+        long updated = mongoTemplate.updateMulti(missingNormalizedCity, setNormalizedCity, Property.class)
+                .getModifiedCount();
+        if (updated > 0) {
+            log.info("Backfilled normalizedCity on {} properties", updated);
+        }
+
+        Query missingLocation = Query.query(Criteria.where("location").exists(false)
+                .and("latitude").ne(null)
+                .and("longitude").ne(null));
+        AggregationUpdate setLocation = AggregationUpdate.update()
+                .set("location")
+                .toValue(new org.bson.Document("type", "Point")
+                        .append("coordinates", List.of("$longitude", "$latitude")));
+        updated = mongoTemplate.updateMulti(missingLocation, setLocation, Property.class).getModifiedCount();
+        if (updated > 0) {
+            log.info("Backfilled GeoJSON location on {} properties", updated);
+        }
+
+        // A versioned document without a version would be treated as new and re-inserted on save
+        Query missingVersion = Query.query(Criteria.where("version").exists(false));
+        for (Class<?> type : VERSIONED_TYPES) {
+            updated = mongoTemplate.updateMulti(missingVersion, new Update().set("version", 0L), type).getModifiedCount();
+            if (updated > 0) {
+                log.info("Backfilled version on {} {} documents", updated, type.getSimpleName());
+            }
+        }
+    }
+}
@@ -9,15 +9,18 @@ import org.springframework.web.bind.annotation.*;
 
 import com.example.Mess_PgSathi.payload.request.LoginRequest;
 import com.example.Mess_PgSathi.payload.request.SignupRequest;
+import com.example.Mess_PgSathi.payload.request.UpdateProfileRequest;
 import com.example.Mess_PgSathi.payload.response.MessageResponse;
 import com.example.Mess_PgSathi.repository.UserRepository;
 import com.example.Mess_PgSathi.security.UserService;
 import com.example.Mess_PgSathi.security.jwt.JwtUtils;
+import com.example.Mess_PgSathi.service.UserSnapshotService;
 import com.example.Mess_PgSathi.security.services.EmailOtpService;
 import com.example.Mess_PgSathi.security.services.EmailService;
 import com.example.Mess_PgSathi.security.services.UserDetailsImpl;
 import com.example.Mess_PgSathi.payload.response.JwtResponse;
 import com.example.Mess_PgSathi.model.User;
+import com.example.Mess_PgSathi.cache.UserSnapshot;
 
 import jakarta.validation.Valid;
 
@@ -38,6 +41,7 @@ public class AuthController {
     private final EmailOtpService emailOtpService;
     private final EmailService emailService;
     private final UserService userService;
+    private final UserSnapshotService userSnapshotService;
 
     // ================== GET CURRENT USER ==================
     
@@ -53,26 +57,47 @@ public class AuthController {
             }
             
             UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-            Optional<User> userOpt = userRepository.findById(userDetails.getId());
+            Optional<UserSnapshot> userOpt = userSnapshotService.findById(userDetails.getId());
             
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(404).body(new MessageResponse("User not found"));
             }
             
-            User user = userOpt.get();
-            return ResponseEntity.ok(Map.of(
-                "id", user.getId(),
-                "fullName", user.getFullName(),
-                "email", user.getEmail(),
-                "role", user.getRole().name(),
-                "phoneNumber", user.getPhoneNumber() != null ? user.getPhoneNumber() : "",
-                "verified", user.isVerified()
-            ));
+            return ResponseEntity.ok(profileOf(userOpt.get()));
         } catch (Exception e) {
             return ResponseEntity.status(401).body(new MessageResponse("Authentication failed"));
         }
     }
 
+    /**
+     * Update current user's name and phone number
+     */
+    @PutMapping("/me")
+    public ResponseEntity<?> updateCurrentUser(@Valid @RequestBody UpdateProfileRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetailsImpl userDetails)) {
+            return ResponseEntity.status(401).body(new MessageResponse("Not authenticated"));
+        }
+
+        try {
+            User user = userService.updateProfile(userDetails.getId(), request);
+            return ResponseEntity.ok(profileOf(UserSnapshot.of(user)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    private static Map<String, Object> profileOf(UserSnapshot user) {
+        return Map.of(
+            "id", user.getId(),
+            "fullName", user.getFullName(),
+            "email", user.getEmail(),
+            "role", user.getRole().name(),
+            "phoneNumber", user.getPhoneNumber() != null ? user.getPhoneNumber() : "",
+            "verified", user.isVerified()
+        );
+    }
+
     // ================== REGISTRATION FLOW ==================
     
     /**
@@ -151,7 +176,7 @@ public class AuthController {
 
             // Mark user as verified
             user.setVerified(true);
-            userRepository.save(user);
+            userService.updateUser(user);
             
             // Send welcome email
             emailService.sendWelcomeEmail(user.getEmail(), user.getFullName());
@@ -324,7 +349,7 @@ public class AuthController {
 
             User user = userOpt.get();
             user.setPassword(passwordEncoder.encode(newPassword));
-            userRepository.save(user);
+            userService.updateUser(user);
             
             return ResponseEntity.ok(new MessageResponse("Password reset successfully! You can now login."));
         } catch (Exception e) {
@@ -1,11 +1,16 @@
 package com.example.Mess_PgSathi.controller;
 
 import com.example.Mess_PgSathi.model.Booking;
+import com.example.Mess_PgSathi.model.BookingEvent;
+import com.example.Mess_PgSathi.payload.request.BatchBookingActionRequest;
 import com.example.Mess_PgSathi.payload.request.BookingRequest;
 import com.example.Mess_PgSathi.payload.request.DocumentSubmitRequest;
+import com.example.Mess_PgSathi.payload.response.BatchBookingActionResponse;
 import com.example.Mess_PgSathi.payload.response.MessageResponse;
+import com.example.Mess_PgSathi.payload.response.WaitlistResponse;
 import com.example.Mess_PgSathi.security.services.UserDetailsImpl;
 import com.example.Mess_PgSathi.service.BookingService;
+import com.example.Mess_PgSathi.service.WaitlistService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -24,6 +29,7 @@ import java.util.stream.Collectors;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final WaitlistService waitlistService;
 
     // ===================== SEEKER ENDPOINTS =====================
 
@@ -76,6 +82,59 @@ public class BookingController {
         }
     }
 
+    /**
+     * Join the waitlist of a full property (Seeker)
+     * The next room given back is booked for the first seeker in line automatically
+     */
+    @PostMapping("/waitlist")
+    @PreAuthorize("hasRole('ROOM_FINDER')")
+    public ResponseEntity<?> joinWaitlist(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @Valid @RequestBody BookingRequest request) {
+        try {
+            WaitlistResponse response = waitlistService.joinWaitlist(
+                    userDetails.getId(),
+                    request.getPropertyId(),
+                    request.getCheckInDate(),
+                    request.getNumberOfMonths()
+            );
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Position on a property's waitlist (Seeker)
+     */
+    @GetMapping("/waitlist/{propertyId}")
+    @PreAuthorize("hasRole('ROOM_FINDER')")
+    public ResponseEntity<?> getWaitlistPosition(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @PathVariable String propertyId) {
+        try {
+            return ResponseEntity.ok(waitlistService.getPosition(userDetails.getId(), propertyId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Leave a property's waitlist (Seeker)
+     */
+    @DeleteMapping("/waitlist/{propertyId}")
+    @PreAuthorize("hasRole('ROOM_FINDER')")
+    public ResponseEntity<?> leaveWaitlist(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @PathVariable String propertyId) {
+        try {
+            waitlistService.leaveWaitlist(userDetails.getId(), propertyId);
+            return ResponseEntity.ok(new MessageResponse("Removed from the waitlist"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
     /**
      * Get seeker's bookings (Seeker)
      */
@@ -188,6 +247,28 @@ public class BookingController {
         }
     }
 
+    /**
+     * Confirm or reject many pending booking requests at once (Owner)
+     * Body: bookingIds, action (CONFIRM or REJECT) and reason (required to reject)
+     */
+    @PostMapping("/owner/batch")
+    @PreAuthorize("hasRole('PG_OWNER')")
+    public ResponseEntity<?> batchOwnerAction(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @Valid @RequestBody BatchBookingActionRequest request) {
+        try {
+            BatchBookingActionResponse response = bookingService.batchOwnerAction(
+                    userDetails.getId(),
+                    request.getBookingIds(),
+                    request.getAction(),
+                    request.getReason()
+            );
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
     /**
      * Verify documents (Owner)
      */
@@ -275,8 +356,41 @@ public class BookingController {
         }
     }
 
+    /**
+     * Booking activity across the owner's properties, newest first (Owner)
+     * Pass the nextCursor of a page as cursor to load older events
+     */
+    @GetMapping("/owner/timeline")
+    @PreAuthorize("hasRole('PG_OWNER')")
+    public ResponseEntity<?> getOwnerTimeline(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(bookingService.getOwnerTimeline(userDetails.getId(), cursor, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
     // ===================== COMMON ENDPOINTS =====================
 
+    /**
+     * Status history of a booking, oldest first
+     */
+    @GetMapping("/{bookingId}/events")
+    @PreAuthorize("hasRole('ROOM_FINDER') or hasRole('PG_OWNER')")
+    public ResponseEntity<?> getBookingHistory(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @PathVariable String bookingId) {
+        try {
+            List<BookingEvent> events = bookingService.getBookingHistory(bookingId, userDetails.getId());
+            return ResponseEntity.ok(events);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
     /**
      * Get booking by ID
      */
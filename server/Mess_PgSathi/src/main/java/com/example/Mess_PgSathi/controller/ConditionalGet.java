@@ -0,0 +1,41 @@
+package com.example.Mess_PgSathi.controller;
+
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Validators for conditional GETs. ETags are hashes of the values a response is
+ * built from (ids and update timestamps), so they can be checked before the
+ * response body is loaded or serialized.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    static String etag(Object... parts) {
+        StringBuilder source = new StringBuilder();
+        for (Object part : parts) {
+            source.append(part instanceof LocalDateTime time ? epochMillis(time) : part).append('|');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * True when the client copy is current; the 304 status and validators are
+     * then already set and the handler should return null
+     */
+    static boolean notModified(WebRequest request, String etag, LocalDateTime lastModified) {
+        return lastModified != null
+                ? request.checkNotModified(etag, epochMillis(lastModified))
+                : request.checkNotModified(etag);
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -1,23 +1,36 @@
 package com.example.Mess_PgSathi.controller;
 
-import com.example.Mess_PgSathi.model.Property;
 import com.example.Mess_PgSathi.payload.request.AddPropertyRequest;
+import com.example.Mess_PgSathi.payload.request.PropertySearchRequest;
+import com.example.Mess_PgSathi.payload.response.CursorPageResponse;
+import com.example.Mess_PgSathi.payload.response.PropertyCardResponse;
+import com.example.Mess_PgSathi.payload.response.PropertyFacetResponse;
+import com.example.Mess_PgSathi.payload.response.PropertyImportResponse;
 import com.example.Mess_PgSathi.payload.response.MessageResponse;
 import com.example.Mess_PgSathi.payload.response.PropertyResponse;
+import com.example.Mess_PgSathi.payload.response.SuggestionResponse;
+import com.example.Mess_PgSathi.service.AutocompleteService;
 import com.example.Mess_PgSathi.service.CloudinaryService;
+import com.example.Mess_PgSathi.service.PropertyExportWriter;
+import com.example.Mess_PgSathi.service.PropertyImportService;
+import com.example.Mess_PgSathi.service.PropertySearchService;
 import com.example.Mess_PgSathi.service.PropertyService;
 import com.example.Mess_PgSathi.security.services.UserDetailsImpl;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -27,6 +40,9 @@ import java.util.List;
 public class PropertyController {
 
     private final PropertyService propertyService;
+    private final PropertySearchService propertySearchService;
+    private final PropertyImportService propertyImportService;
+    private final AutocompleteService autocompleteService;
     private final CloudinaryService cloudinaryService;
     private final ObjectMapper objectMapper;
 
@@ -82,6 +98,30 @@ public class PropertyController {
         }
     }
 
+    /**
+     * Import many properties at once (Only PG_OWNER can access)
+     * Accepts NDJSON (one AddPropertyRequest per line) or CSV with a header row;
+     * rows that fail are reported by row number and do not stop the others
+     */
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('PG_OWNER')")
+    public ResponseEntity<?> importProperties(
+            InputStream body,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            @RequestParam(required = false) String format,
+            Authentication authentication) {
+        try {
+            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+            PropertyImportResponse response = propertyImportService.importProperties(
+                    body, PropertyImportService.Format.resolve(format, contentType), userDetails.getId());
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            log.error("Error importing properties: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+
     /**
      * Get all properties by owner
      */
@@ -92,7 +132,7 @@ public class PropertyController {
             UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
             String ownerId = userDetails.getId();
 
-            List<PropertyResponse> properties = propertyService.getPropertiesByOwner(ownerId);
+            List<PropertyCardResponse> properties = propertyService.getPropertiesByOwner(ownerId);
             return ResponseEntity.ok(properties);
 
         } catch (Exception e) {
@@ -100,6 +140,26 @@ public class PropertyController {
         }
     }
 
+    /**
+     * Export all properties of the owner as NDJSON, streamed from the database
+     */
+    @GetMapping("/my-properties/export")
+    @PreAuthorize("hasRole('PG_OWNER')")
+    public ResponseEntity<StreamingResponseBody> exportMyProperties(Authentication authentication) {
+        try {
+            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+            String ownerId = userDetails.getId();
+
+            StreamingResponseBody body = out -> propertyService.exportPropertiesByOwner(ownerId, out);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(PropertyExportWriter.CONTENT_TYPE))
+                    .body(body);
+
+        } catch (Exception e) {
+            return exportError(e);
+        }
+    }
+
     /**
      * Get active properties by owner
      */
@@ -110,7 +170,7 @@ public class PropertyController {
             UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
             String ownerId = userDetails.getId();
 
-            List<PropertyResponse> properties = propertyService.getActivePropertiesByOwner(ownerId);
+            List<PropertyCardResponse> properties = propertyService.getActivePropertiesByOwner(ownerId);
             return ResponseEntity.ok(properties);
 
         } catch (Exception e) {
@@ -122,9 +182,13 @@ public class PropertyController {
      * Get property by ID
      */
     @GetMapping("/{propertyId}")
-    public ResponseEntity<?> getPropertyById(@PathVariable String propertyId) {
+    public ResponseEntity<?> getPropertyById(@PathVariable String propertyId, WebRequest webRequest) {
         try {
             PropertyResponse property = propertyService.getPropertyById(propertyId);
+            String etag = ConditionalGet.etag("property", property.getId(), property.getUpdatedAt());
+            if (ConditionalGet.notModified(webRequest, etag, property.getUpdatedAt())) {
+                return null;
+            }
             return ResponseEntity.ok(property);
 
         } catch (Exception e) {
@@ -191,28 +255,102 @@ public class PropertyController {
 
     /**
      * Get all active properties (Public endpoint for search)
+     * Query params: keyword, city, state, propertyType, roomType, genderPreference, minPrice, maxPrice, amenities,
+     * latitude, longitude, radiusKm
      */
     @GetMapping("/public/search")
-    public ResponseEntity<?> searchProperties(
-            @RequestParam(required = false) String city,
-            @RequestParam(required = false) String propertyType,
-            @RequestParam(required = false) String roomType,
-            @RequestParam(required = false) String genderPreference,
-            @RequestParam(required = false) Double minPrice,
-            @RequestParam(required = false) Double maxPrice) {
+    public ResponseEntity<?> searchProperties(PropertySearchRequest request, WebRequest webRequest) {
         try {
-            // Convert string parameters to enum types
-            Property.PropertyType propType = propertyType != null ? Property.PropertyType.valueOf(propertyType.toUpperCase()) : null;
-            Property.RoomType rmType = roomType != null ? Property.RoomType.valueOf(roomType.toUpperCase()) : null;
-            Property.GenderPreference genderPref = genderPreference != null ? Property.GenderPreference.valueOf(genderPreference.toUpperCase()) : null;
-            
-            List<Property> properties = propertyService.searchProperties(
-                city, null, propType, rmType, minPrice, maxPrice, genderPref
-            );
+            List<PropertyCardResponse> properties = propertySearchService.searchProperties(request);
+            if (ConditionalGet.notModified(webRequest, searchEtag(properties, null, null), null)) {
+                return null;
+            }
             return ResponseEntity.ok(properties);
 
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
         }
     }
+
+    /**
+     * Export matching properties as NDJSON cards, without owner contacts and
+     * capped at 1000 rows (Public endpoint).
+     * Rows are written as they are read from the database, never collected in a list.
+     */
+    @GetMapping("/public/search/export")
+    public ResponseEntity<StreamingResponseBody> exportSearch(PropertySearchRequest request) {
+        try {
+            propertySearchService.validateExport(request);
+        } catch (Exception e) {
+            return exportError(e);
+        }
+
+        StreamingResponseBody body = out -> propertySearchService.exportMatching(request, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(PropertyExportWriter.CONTENT_TYPE))
+                .body(body);
+    }
+
+    // The body type of an export is fixed to a stream, so the error message is written through one
+    private ResponseEntity<StreamingResponseBody> exportError(Exception e) {
+        MessageResponse error = new MessageResponse("Error: " + e.getMessage());
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> out.write(objectMapper.writeValueAsBytes(error)));
+    }
+
+    /**
+     * Paged public search
+     * Same filters as /public/search plus sort (RENT, RATING, NEWEST, DISTANCE, RELEVANCE), cursor, limit and includeTotal
+     */
+    @GetMapping("/public/search/page")
+    public ResponseEntity<?> searchPropertiesPage(PropertySearchRequest request, WebRequest webRequest) {
+        try {
+            CursorPageResponse<PropertyCardResponse> page = propertySearchService.searchPage(request);
+            String etag = searchEtag(page.getItems(), page.getNextCursor(), page.getApproximateTotal());
+            if (ConditionalGet.notModified(webRequest, etag, null)) {
+                return null;
+            }
+            return ResponseEntity.ok(page);
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+
+    // A search result is unchanged while the same cards, at the same versions, come back in the same order.
+    // No Last-Modified: a listing dropping out of the results has no newer timestamp to compare.
+    private static String searchEtag(List<PropertyCardResponse> cards, String nextCursor, Long total) {
+        StringBuilder versions = new StringBuilder();
+        for (PropertyCardResponse card : cards) {
+            versions.append(card.getId()).append('@').append(card.getUpdatedAt()).append('~').append(card.getDistanceKm()).append(',');
+        }
+        return ConditionalGet.etag("search", versions, nextCursor, total);
+    }
+
+    /**
+     * Location box typeahead: cities, PIN codes, landmarks and colleges
+     * Served from memory by AutocompleteService
+     */
+    @GetMapping("/public/autocomplete")
+    public ResponseEntity<?> autocomplete(@RequestParam("q") String query,
+                                          @RequestParam(required = false) Integer limit) {
+        List<SuggestionResponse> suggestions = autocompleteService.suggest(query, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
+    /**
+     * Facet counts for the browse page
+     * Same filters as /public/search; each facet ignores its own filter
+     */
+    @GetMapping("/public/search/facets")
+    public ResponseEntity<?> getSearchFacets(PropertySearchRequest request) {
+        try {
+            PropertyFacetResponse facets = propertySearchService.getFacets(request);
+            return ResponseEntity.ok(facets);
+
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
 }
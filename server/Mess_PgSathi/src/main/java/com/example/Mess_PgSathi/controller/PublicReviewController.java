@@ -6,6 +6,7 @@ import com.example.Mess_PgSathi.service.ReviewService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,8 +21,14 @@ public class PublicReviewController {
      * Get reviews for a property (Public)
      */
     @GetMapping("/property/{propertyId}")
-    public ResponseEntity<?> getPropertyReviews(@PathVariable String propertyId) {
+    public ResponseEntity<?> getPropertyReviews(@PathVariable String propertyId, WebRequest webRequest) {
         try {
+            ReviewService.ReviewListVersion version = reviewService.getPropertyReviewsVersion(propertyId);
+            String etag = ConditionalGet.etag("reviews", propertyId, version.count, version.lastUpdated);
+            if (ConditionalGet.notModified(webRequest, etag, version.lastUpdated)) {
+                return null;
+            }
+
             List<Review> reviews = reviewService.getPropertyReviews(propertyId);
             return ResponseEntity.ok(reviews);
         } catch (Exception e) {
@@ -33,8 +40,14 @@ public class PublicReviewController {
      * Get property rating summary (Public)
      */
     @GetMapping("/property/{propertyId}/summary")
-    public ResponseEntity<?> getPropertyRatingSummary(@PathVariable String propertyId) {
+    public ResponseEntity<?> getPropertyRatingSummary(@PathVariable String propertyId, WebRequest webRequest) {
         try {
+            ReviewService.ReviewListVersion version = reviewService.getPropertyReviewsVersion(propertyId);
+            String etag = ConditionalGet.etag("summary", propertyId, version.count, version.lastUpdated);
+            if (ConditionalGet.notModified(webRequest, etag, version.lastUpdated)) {
+                return null;
+            }
+
             ReviewService.PropertyRatingSummary summary = reviewService.getPropertyRatingSummary(propertyId);
             return ResponseEntity.ok(summary);
         } catch (Exception e) {
@@ -3,6 +3,7 @@ package com.example.Mess_PgSathi.controller;
 import com.example.Mess_PgSathi.model.*;
 import com.example.Mess_PgSathi.payload.request.*;
 import com.example.Mess_PgSathi.payload.response.MessageResponse;
+import com.example.Mess_PgSathi.payload.response.RecommendationResponse;
 import com.example.Mess_PgSathi.security.services.UserDetailsImpl;
 import com.example.Mess_PgSathi.service.*;
 import jakarta.validation.Valid;
@@ -27,6 +28,8 @@ public class SeekerController {
     private final VisitScheduleService visitScheduleService;
     private final ReviewService reviewService;
     private final UserPreferenceService userPreferenceService;
+    private final RecommendationService recommendationService;
+    private final RecommendationFeedService recommendationFeedService;
 
     // ===================== FAVORITES =====================
 
@@ -487,6 +490,24 @@ public class SeekerController {
         }
     }
 
+    // ===================== RECOMMENDATIONS =====================
+
+    /**
+     * Get listings that best match the saved preferences
+     */
+    @GetMapping("/recommendations")
+    public ResponseEntity<?> getRecommendations(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            List<RecommendationResponse> recommendations =
+                    recommendationService.getRecommendations(userDetails.getId(), limit);
+            return ResponseEntity.ok(recommendations);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
     // ===================== DASHBOARD =====================
 
     /**
@@ -515,6 +536,9 @@ public class SeekerController {
             List<Inquiry> inquiries = inquiryService.getSeekerInquiries(userDetails.getId());
             dashboard.put("recentInquiries", inquiries.stream().limit(5).toList());
             
+            // Precomputed recommendations
+            dashboard.put("recommendations", recommendationFeedService.getDashboardRecommendations(userDetails.getId()));
+            
             return ResponseEntity.ok(dashboard);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
@@ -0,0 +1,13 @@
+package com.example.Mess_PgSathi.event;
+
+import lombok.Value;
+
+/**
+ * Published after a seeker's preferences (or their search history) are written
+ * or deleted, so that data derived from them can be refreshed.
+ */
+@Value
+public class PreferencesChangedEvent {
+
+    String userId;
+}
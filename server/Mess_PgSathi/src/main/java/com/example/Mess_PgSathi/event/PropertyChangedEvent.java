@@ -0,0 +1,38 @@
+package com.example.Mess_PgSathi.event;
+
+import com.example.Mess_PgSathi.model.Property;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Published after a property document is written, so that in-memory indexes
+ * and caches built from properties can update themselves.
+ */
+@Value
+@AllArgsConstructor
+public class PropertyChangedEvent {
+
+    // State after the change (for DELETED, the last known state)
+    Property property;
+    ChangeType type;
+
+    // Normalized city before an update that moved the property, otherwise null
+    String previousCity;
+
+    public PropertyChangedEvent(Property property, ChangeType type) {
+        this(property, type, null);
+    }
+
+    // Listing content changes, as opposed to counters kept up to date by other services
+    public boolean isContentChange() {
+        return type == ChangeType.CREATED || type == ChangeType.UPDATED || type == ChangeType.DELETED;
+    }
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED,
+        INVENTORY,  // available rooms changed by a booking
+        RATING      // average rating / review count recalculated
+    }
+}
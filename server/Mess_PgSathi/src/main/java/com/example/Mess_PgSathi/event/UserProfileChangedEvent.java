@@ -0,0 +1,14 @@
+package com.example.Mess_PgSathi.event;
+
+import lombok.Value;
+
+/**
+ * Published after a user's name, email or phone number changed, so the copies
+ * kept on bookings, payments, inquiries and the rest can be brought up to date.
+ * Carries only the id: listeners read the user's current profile themselves.
+ */
+@Value
+public class UserProfileChangedEvent {
+
+    String userId;
+}
@@ -0,0 +1,16 @@
+package com.example.Mess_PgSathi.event;
+
+import com.example.Mess_PgSathi.model.Property;
+import lombok.Value;
+
+/**
+ * Published after a returned room was handed to the head of a property's
+ * waitlist. The room is already taken for the seeker; listeners turn it into
+ * a booking and tell them.
+ */
+@Value
+public class WaitlistPromotedEvent {
+
+    String propertyId;
+    Property.WaitlistEntry entry;
+}
@@ -0,0 +1,43 @@
+package com.example.Mess_PgSathi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * One applied {@link BookingTransition}, appended and never changed. Carries
+ * only ids and statuses, so an owner's timeline or a booking's history is an
+ * index range read instead of a re-query of the bookings themselves.
+ */
+@Document(collection = "booking_events")
+@CompoundIndexes({
+        @CompoundIndex(name = "owner_at_id", def = "{'ownerId': 1, 'at': -1, '_id': -1}"),
+        @CompoundIndex(name = "booking_at", def = "{'bookingId': 1, 'at': 1}")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingEvent {
+    @Id
+    private String id;
+
+    private String bookingId;
+    private String propertyId;
+    private String ownerId;
+    private String seekerId;
+
+    private BookingTransition transition;
+    private Booking.BookingStatus fromStatus; // null for the booking request itself
+    private Booking.BookingStatus toStatus;
+
+    private String actorId;
+    private String note; // rejection or cancellation reason, verification note
+
+    private LocalDateTime at;
+}
@@ -0,0 +1,61 @@
+package com.example.Mess_PgSathi.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static com.example.Mess_PgSathi.model.Booking.BookingStatus.*;
+
+/**
+ * Every move a booking can make: who makes it, the statuses it may start from
+ * and the status it ends in. BookingService changes a booking's status only
+ * through this table, as one conditional update on the status it read.
+ */
+public enum BookingTransition {
+    REQUEST(Actor.SEEKER, PENDING, null),
+    CONFIRM(Actor.OWNER, OWNER_CONFIRMED, "Booking is not in pending state!", PENDING),
+    REJECT(Actor.OWNER, OWNER_REJECTED, "Booking is not in pending state!", PENDING),
+    SUBMIT_DOCUMENTS(Actor.SEEKER, DOCS_SUBMITTED,
+            "Booking must be confirmed by owner before submitting documents!", OWNER_CONFIRMED),
+    APPROVE_DOCUMENTS(Actor.OWNER, DOCS_VERIFIED, "Documents not submitted yet!", DOCS_SUBMITTED),
+    REJECT_DOCUMENTS(Actor.OWNER, DOCS_REJECTED, "Documents not submitted yet!", DOCS_SUBMITTED),
+    REQUEST_PAYMENT(Actor.OWNER, PAYMENT_PENDING,
+            "Documents must be verified before requesting payment!", DOCS_VERIFIED),
+    CONFIRM_PAYMENT(Actor.OWNER, ACTIVE, "Booking is not in payment pending state!", PAYMENT_PENDING),
+    COMPLETE(Actor.OWNER, COMPLETED, "Booking is not active!", ACTIVE),
+    CANCEL(Actor.EITHER, CANCELLED, "This booking can no longer be cancelled!",
+            PENDING, OWNER_CONFIRMED, DOCS_SUBMITTED, DOCS_VERIFIED, DOCS_REJECTED, PAYMENT_PENDING, ACTIVE);
+
+    public enum Actor {
+        SEEKER,
+        OWNER,
+        EITHER
+    }
+
+    private final Actor actor;
+    private final Booking.BookingStatus to;
+    private final String notAllowedMessage;
+    private final Set<Booking.BookingStatus> from;
+
+    BookingTransition(Actor actor, Booking.BookingStatus to, String notAllowedMessage, Booking.BookingStatus... from) {
+        this.actor = actor;
+        this.to = to;
+        this.notAllowedMessage = notAllowedMessage;
+        this.from = from.length > 0 ? EnumSet.of(from[0], from) : EnumSet.noneOf(Booking.BookingStatus.class);
+    }
+
+    public boolean allowsFrom(Booking.BookingStatus status) {
+        return from.contains(status);
+    }
+
+    public Actor getActor() {
+        return actor;
+    }
+
+    public Booking.BookingStatus getTo() {
+        return to;
+    }
+
+    public String getNotAllowedMessage() {
+        return notAllowedMessage;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.Mess_PgSathi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * The first response to a POST sent with an Idempotency-Key header, stored so
+ * retries of the same request get it back instead of running the action again.
+ * Keyed by a hash of user, path and key; removed by the TTL index after a day.
+ * While the first request runs the record is a claim leased until lockedUntil,
+ * so a claim left behind by a crashed instance frees up again.
+ */
+@Document(collection = "idempotency_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+    @Id
+    private String id;
+
+    private String requestHash; // SHA-256 of query string and body; a reused key must match it
+
+    private boolean completed; // false while the first request is still running
+    private LocalDateTime lockedUntil;
+
+    private int status;
+    private String contentType;
+    private String body;
+
+    @Indexed(name = "createdAt_ttl", expireAfter = "1d")
+    private LocalDateTime createdAt;
+}
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -18,6 +19,9 @@ public class Inquiry {
     @Id
     private String id;
 
+    @Version
+    private Long version;
+
     // Property Information
     private String propertyId;
     private String propertyName;
@@ -0,0 +1,36 @@
+package com.example.Mess_PgSathi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Beds taken in one property for one calendar month by active bookings. Only
+ * months with at least one booking have a bucket; a missing bucket means every
+ * room is free. Keyed "propertyId:yyyy-MM".
+ */
+@Document(collection = "occupancy_buckets")
+@CompoundIndex(name = "month_full_property", def = "{'month': 1, 'full': 1, 'propertyId': 1}")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccupancyBucket {
+    @Id
+    private String id;
+
+    @Indexed
+    private String propertyId;
+
+    // yyyy-MM, so string order is calendar order
+    private String month;
+
+    private int occupiedRooms;
+    private int totalRooms;
+
+    // occupiedRooms >= totalRooms, kept in the document so search can use the index
+    private boolean full;
+}
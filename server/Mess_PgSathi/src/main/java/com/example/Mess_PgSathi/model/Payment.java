@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDate;
@@ -17,6 +18,9 @@ public class Payment {
     @Id
     private String id;
 
+    @Version
+    private Long version;
+
     // Booking Reference
     private String bookingId;
     private String propertyId;
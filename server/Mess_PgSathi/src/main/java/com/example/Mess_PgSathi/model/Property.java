@@ -1,16 +1,44 @@
 package com.example.Mess_PgSathi.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 import jakarta.validation.constraints.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-
-@Document(collection = "properties")
+import java.util.Locale;
+
+// language "none": no stemming or stop words, which suits Indian place and college names
+@Document(collection = "properties", language = "none")
+@CompoundIndexes({
+        // Public search always filters on status, so it leads every search index
+        @CompoundIndex(name = "status_city_rent", def = "{'status': 1, 'normalizedCity': 1, 'monthlyRent': 1, '_id': 1}"),
+        @CompoundIndex(name = "status_city_type_room", def = "{'status': 1, 'normalizedCity': 1, 'propertyType': 1, 'roomType': 1}"),
+        @CompoundIndex(name = "status_type_room_rent", def = "{'status': 1, 'propertyType': 1, 'roomType': 1, 'monthlyRent': 1}"),
+        @CompoundIndex(name = "status_gender_rent", def = "{'status': 1, 'genderPreference': 1, 'monthlyRent': 1}"),
+        // Keyset pagination sorts: sort field plus _id as tie-breaker
+        @CompoundIndex(name = "status_rent", def = "{'status': 1, 'monthlyRent': 1, '_id': 1}"),
+        @CompoundIndex(name = "status_rating", def = "{'status': 1, 'averageRating': -1, '_id': -1}"),
+        @CompoundIndex(name = "status_created", def = "{'status': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "owner_status", def = "{'ownerId': 1, 'status': 1}"),
+        // The only 2dsphere index on the collection, so $geoNear picks it without a key
+        @CompoundIndex(name = "location_status", def = "{'location': '2dsphere', 'status': 1}")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,10 +47,16 @@ public class Property {
     @Id
     private String id;
 
+    @Version
+    private Long version;
+
+    // Keyword search weights: name > landmarks, college > description
     @NotBlank(message = "Property name is required")
+    @TextIndexed(weight = 10)
     private String name;
 
     @NotBlank(message = "Description is required")
+    @TextIndexed
     private String description;
 
     @NotNull(message = "Property type is required")
@@ -34,6 +68,9 @@ public class Property {
     @NotBlank(message = "City is required")
     private String city;
 
+    // Lower-cased copy of city so case-insensitive city search can use an index
+    private String normalizedCity;
+
     @NotBlank(message = "State is required")
     private String state;
 
@@ -43,6 +80,9 @@ public class Property {
     private Double latitude;
     private Double longitude;
 
+    // GeoJSON copy of latitude/longitude, kept in sync by the setters below
+    private GeoJsonPoint location;
+
     // Owner Information
     @NotBlank(message = "Owner ID is required")
     private String ownerId;
@@ -89,9 +129,11 @@ public class Property {
     private boolean housekeeping = false;
 
     // Additional Information
+    @TextIndexed(weight = 4)
     private String nearbyLandmarks;
     private String rulesAndRegulations;
     private Double distanceFromCollege; // in KM
+    @TextIndexed(weight = 4)
     private String collegeNearby;
 
     // Images
@@ -108,6 +150,73 @@ public class Property {
     private Double averageRating = 0.0;
     private Integer totalReviews = 0;
 
+    // Seekers waiting for a room while the property is full, first come first served.
+    // Only changed in place (see PropertyInventoryRepository), never shown publicly
+    @JsonIgnore
+    private List<WaitlistEntry> waitlist = new ArrayList<>();
+
+    // Filled in by geo searches only, never stored
+    @Transient
+    private Double distanceKm;
+
+    // Distance computed by $geoNear, read back for the DISTANCE cursor; never stored
+    @ReadOnlyProperty
+    @JsonIgnore
+    private Double geoDistance;
+
+    // Relevance of a keyword search match, never stored
+    @TextScore
+    private Double textScore;
+
+    public void setCity(String city) {
+        this.city = city;
+        this.normalizedCity = normalizeCity(city);
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+        refreshLocation();
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+        refreshLocation();
+    }
+
+    private void refreshLocation() {
+        this.location = latitude != null && longitude != null ? new GeoJsonPoint(longitude, latitude) : null;
+    }
+
+    public static String normalizeCity(String city) {
+        return city != null ? city.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    // Amenities packed one bit per amenity (see Amenity)
+    public int amenityMask() {
+        int mask = 0;
+        if (wifi) mask |= Amenity.WIFI.bit();
+        if (parking) mask |= Amenity.PARKING.bit();
+        if (meals) mask |= Amenity.MEALS.bit();
+        if (laundry) mask |= Amenity.LAUNDRY.bit();
+        if (ac) mask |= Amenity.AC.bit();
+        if (tv) mask |= Amenity.TV.bit();
+        if (gym) mask |= Amenity.GYM.bit();
+        if (security) mask |= Amenity.SECURITY.bit();
+        if (powerBackup) mask |= Amenity.POWER_BACKUP.bit();
+        if (housekeeping) mask |= Amenity.HOUSEKEEPING.bit();
+        return mask;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WaitlistEntry {
+        private String seekerId;
+        private LocalDate checkInDate;
+        private int numberOfMonths;
+        private LocalDateTime joinedAt;
+    }
+
     // Enums
     public enum PropertyType {
         PG("PG"),
@@ -162,4 +271,54 @@ public class Property {
     public enum PropertyStatus {
         ACTIVE, INACTIVE, PENDING_APPROVAL, BLOCKED
     }
+
+    public enum Amenity {
+        WIFI("wifi"),
+        PARKING("parking"),
+        MEALS("meals"),
+        LAUNDRY("laundry"),
+        AC("ac"),
+        TV("tv"),
+        GYM("gym"),
+        SECURITY("security"),
+        POWER_BACKUP("powerBackup"),
+        HOUSEKEEPING("housekeeping");
+
+        private final String fieldName;
+
+        Amenity(String fieldName) {
+            this.fieldName = fieldName;
+        }
+
+        public String getFieldName() {
+            return fieldName;
+        }
+
+        public int bit() {
+            return 1 << ordinal();
+        }
+
+        public static int maskOf(Collection<String> names) {
+            int mask = 0;
+            if (names != null) {
+                for (String name : names) {
+                    if (name != null && !name.isBlank()) {
+                        mask |= fromName(name).bit();
+                    }
+                }
+            }
+            return mask;
+        }
+
+        // Accepts the field name (powerBackup) or the enum name (POWER_BACKUP)
+        public static Amenity fromName(String name) {
+            String key = name.trim().replace("_", "");
+            for (Amenity amenity : values()) {
+                if (amenity.fieldName.equalsIgnoreCase(key)) {
+                    return amenity;
+                }
+            }
+            throw new IllegalArgumentException("Unknown amenity: " + name);
+        }
+    }
 }
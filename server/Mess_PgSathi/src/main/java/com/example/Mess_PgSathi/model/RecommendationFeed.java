@@ -0,0 +1,39 @@
+package com.example.Mess_PgSathi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precomputed recommendations for one seeker, best first. Keyed by the seeker's
+ * user id so the dashboard reads it with a single _id lookup.
+ */
+@Document(collection = "recommendation_feeds")
+@CompoundIndex(name = "cities_stale", def = "{'cities': 1, 'stale': 1}")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecommendationFeed {
+    @Id
+    private String userId;
+
+    // Parallel lists: propertyIds[i] scored scores[i]
+    private List<String> propertyIds = new ArrayList<>();
+    private List<Double> scores = new ArrayList<>();
+
+    // Normalized cities the feed was drawn from; listing changes there make it stale
+    private List<String> cities = new ArrayList<>();
+
+    @Indexed
+    private boolean stale;
+    private LocalDateTime staleAt;
+    private LocalDateTime generatedAt;
+}
@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -11,6 +13,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Document(collection = "reviews")
+// Public review lists and their ETag lookup (latest update among approved reviews)
+@CompoundIndex(name = "property_status_updated", def = "{'propertyId': 1, 'status': 1, 'updatedAt': -1}")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,6 +22,9 @@ public class Review {
     @Id
     private String id;
 
+    @Version
+    private Long version;
+
     // Property Information
     private String propertyId;
     private String propertyName;
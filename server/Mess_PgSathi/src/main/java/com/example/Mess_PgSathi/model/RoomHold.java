@@ -0,0 +1,33 @@
+package com.example.Mess_PgSathi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * A room set aside for a booking between the owner's payment request and the
+ * advance payment. Keyed by the booking id, so a booking holds at most one room.
+ * The room itself is taken from availableRooms when the hold is placed.
+ */
+@Document(collection = "room_holds")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomHold {
+    @Id
+    private String bookingId;
+
+    private String propertyId;
+    private String seekerId;
+
+    // The sweeper releases the room at expiresAt; the TTL index drops the document a day later
+    @Indexed(name = "expiresAt_ttl", expireAfter = "1d")
+    private LocalDateTime expiresAt;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,20 @@
+package com.example.Mess_PgSathi.payload.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchBookingActionRequest {
+    @NotEmpty(message = "At least one booking ID is required")
+    @Size(max = 100, message = "At most 100 bookings can be handled at once")
+    private List<String> bookingIds;
+
+    @NotBlank(message = "Action is required")
+    private String action; // CONFIRM or REJECT
+
+    private String reason; // Required to reject
+}
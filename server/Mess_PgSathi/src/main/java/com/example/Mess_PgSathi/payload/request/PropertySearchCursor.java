@@ -0,0 +1,48 @@
+package com.example.Mess_PgSathi.payload.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position of the last item of a search page: its sort value and id.
+ * Clients only ever see the encoded, opaque token.
+ */
+@Getter
+@AllArgsConstructor
+public class PropertySearchCursor {
+
+    private final PropertySearchRequest.SortBy sort;
+    private final Object value;
+    private final String id;
+
+    public String encode() {
+        String raw = sort.name() + "|" + (value != null ? value.toString() : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PropertySearchCursor decode(String token, PropertySearchRequest.SortBy expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            PropertySearchRequest.SortBy sort = PropertySearchRequest.SortBy.valueOf(parts[0]);
+            if (sort != expectedSort) {
+                throw new IllegalArgumentException("sort changed");
+            }
+            Object value = parts[1].isEmpty() ? null : parseValue(sort, parts[1]);
+            return new PropertySearchCursor(sort, value, parts[2]);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid or expired cursor!");
+        }
+    }
+
+    private static Object parseValue(PropertySearchRequest.SortBy sort, String value) {
+        return switch (sort) {
+            case NEWEST -> LocalDateTime.parse(value);
+            default -> Double.parseDouble(value);
+        };
+    }
+}
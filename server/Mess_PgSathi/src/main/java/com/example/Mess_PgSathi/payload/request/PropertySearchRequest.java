@@ -0,0 +1,81 @@
+package com.example.Mess_PgSathi.payload.request;
+
+import lombok.Data;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class PropertySearchRequest {
+
+    private String city;
+    private String state;
+
+    // Free text matched against name, description, landmarks and college (text index)
+    private String keyword;
+
+    // Enum names (PG, SINGLE, FEMALE ...), matched case-insensitively
+    private String propertyType;
+    private String roomType;
+    private String genderPreference;
+
+    private Double minPrice;
+    private Double maxPrice;
+
+    // Every listed amenity is required, e.g. amenities=wifi,ac,powerBackup
+    private List<String> amenities;
+
+    // Near-me search: both coordinates switch it on, radius defaults in PropertySearchService
+    private Double latitude;
+    private Double longitude;
+    private Double radiusKm;
+
+    // A bed free in every month of the stay, e.g. moveInDate=2025-07-01&stayMonths=6 (default 1 month)
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate moveInDate;
+    private Integer stayMonths;
+
+    // Paging (only used by the paged search endpoint)
+    private String sort;           // RENT, RATING, NEWEST (default), DISTANCE or RELEVANCE (default with keyword)
+    private String cursor;         // nextCursor returned with the previous page
+    private Integer limit;
+    private boolean includeTotal;
+
+    public enum SortBy {
+        RENT("monthlyRent", Sort.Direction.ASC),
+        RATING("averageRating", Sort.Direction.DESC),
+        NEWEST("createdAt", Sort.Direction.DESC),
+        DISTANCE("geoDistance", Sort.Direction.ASC),     // the distance $geoNear computes
+        RELEVANCE("textScore", Sort.Direction.DESC);
+
+        private final String field;
+        private final Sort.Direction direction;
+
+        SortBy(String field, Sort.Direction direction) {
+            this.field = field;
+            this.direction = direction;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public Sort.Direction getDirection() {
+            return direction;
+        }
+    }
+
+    public boolean hasLocation() {
+        return latitude != null && longitude != null;
+    }
+
+    public boolean hasStay() {
+        return moveInDate != null;
+    }
+
+    public boolean hasKeyword() {
+        return keyword != null && !keyword.isBlank();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.Mess_PgSathi.payload.request;
+
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+@Data
+public class UpdateProfileRequest {
+    @NotBlank(message = "Full name is required")
+    @Size(min = 2, max = 50, message = "Full name must be between 2 and 50 characters")
+    private String fullName;
+
+    @NotBlank(message = "Phone number is required")
+    @Pattern(regexp = "^[0-9]{10}$", message = "Phone number must be 10 digits")
+    private String phoneNumber;
+}
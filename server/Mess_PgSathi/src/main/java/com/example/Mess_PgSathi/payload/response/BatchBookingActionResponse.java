@@ -0,0 +1,34 @@
+package com.example.Mess_PgSathi.payload.response;
+
+import com.example.Mess_PgSathi.model.Booking;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a batch confirm / reject, one result per distinct booking id in
+ * the order they were sent.
+ */
+@Data
+@NoArgsConstructor
+public class BatchBookingActionResponse {
+
+    private String action;
+    private int succeeded;
+    private int failed;
+
+    private List<ItemResult> results = new ArrayList<>();
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ItemResult {
+        private String bookingId;
+        private boolean success;
+        private Booking.BookingStatus status; // Status after the action, or the current one when it failed
+        private String message;
+    }
+}
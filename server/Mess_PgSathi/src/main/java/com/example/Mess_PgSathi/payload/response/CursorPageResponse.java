@@ -0,0 +1,22 @@
+package com.example.Mess_PgSathi.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageResponse<T> {
+
+    private List<T> items;
+    private int size;
+
+    // Pass back as "cursor" to get the next page; null on the last page
+    private String nextCursor;
+
+    // Only filled when includeTotal=true, and capped (see PropertySearchService)
+    private Long approximateTotal;
+}
@@ -0,0 +1,124 @@
+package com.example.Mess_PgSathi.payload.response;
+
+import com.example.Mess_PgSathi.model.Property;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Compact listing used by search results and owner listings. Loaded with a field
+ * projection; the full document is only served by GET /api/properties/{id}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PropertyCardResponse {
+
+    // Stored fields a card reads; imageUrls is additionally sliced to its first entry
+    public static final String[] FIELDS = {
+            "name", "city", "state", "latitude", "longitude", "propertyType", "monthlyRent", "roomType",
+            "averageRating", "totalReviews", "availableRooms", "totalRooms", "status", "updatedAt",
+            "wifi", "parking", "meals", "laundry", "ac", "tv", "gym", "security", "powerBackup", "housekeeping"
+    };
+
+    private String id;
+    private String name;
+    private String city;
+    private String state;
+    private Double latitude;
+    private Double longitude;
+    private String propertyType;
+    private Double monthlyRent;
+    private String roomType;
+    private Double averageRating;
+    private Integer totalReviews;
+    private String imageUrl;
+    private Integer availableRooms;
+    private Integer totalRooms;
+    private String status;
+    private LocalDateTime updatedAt;
+
+    // Amenities, shown as chips on the card
+    private boolean wifi;
+    private boolean parking;
+    private boolean meals;
+    private boolean laundry;
+    private boolean ac;
+    private boolean tv;
+    private boolean gym;
+    private boolean security;
+    private boolean powerBackup;
+    private boolean housekeeping;
+
+    // Only set by near-me searches
+    private Double distanceKm;
+
+    public static PropertyCardResponse fromResponse(PropertyResponse property) {
+        PropertyCardResponse card = new PropertyCardResponse();
+        card.setId(property.getId());
+        card.setName(property.getName());
+        card.setCity(property.getCity());
+        card.setState(property.getState());
+        card.setLatitude(property.getLatitude());
+        card.setLongitude(property.getLongitude());
+        card.setPropertyType(property.getPropertyType());
+        card.setMonthlyRent(property.getMonthlyRent());
+        card.setRoomType(property.getRoomType());
+        card.setAverageRating(property.getAverageRating());
+        card.setTotalReviews(property.getTotalReviews());
+        if (property.getImageUrls() != null && !property.getImageUrls().isEmpty()) {
+            card.setImageUrl(property.getImageUrls().get(0));
+        }
+        card.setAvailableRooms(property.getAvailableRooms());
+        card.setTotalRooms(property.getTotalRooms());
+        card.setStatus(property.getStatus());
+        card.setUpdatedAt(property.getUpdatedAt());
+        card.setWifi(property.isWifi());
+        card.setParking(property.isParking());
+        card.setMeals(property.isMeals());
+        card.setLaundry(property.isLaundry());
+        card.setAc(property.isAc());
+        card.setTv(property.isTv());
+        card.setGym(property.isGym());
+        card.setSecurity(property.isSecurity());
+        card.setPowerBackup(property.isPowerBackup());
+        card.setHousekeeping(property.isHousekeeping());
+        return card;
+    }
+
+    public static PropertyCardResponse fromProperty(Property property) {
+        PropertyCardResponse card = new PropertyCardResponse();
+        card.setId(property.getId());
+        card.setName(property.getName());
+        card.setCity(property.getCity());
+        card.setState(property.getState());
+        card.setLatitude(property.getLatitude());
+        card.setLongitude(property.getLongitude());
+        card.setPropertyType(property.getPropertyType() != null ? property.getPropertyType().getDisplayName() : null);
+        card.setMonthlyRent(property.getMonthlyRent());
+        card.setRoomType(property.getRoomType() != null ? property.getRoomType().getDisplayName() : null);
+        card.setAverageRating(property.getAverageRating());
+        card.setTotalReviews(property.getTotalReviews());
+        if (property.getImageUrls() != null && !property.getImageUrls().isEmpty()) {
+            card.setImageUrl(property.getImageUrls().get(0));
+        }
+        card.setAvailableRooms(property.getAvailableRooms());
+        card.setTotalRooms(property.getTotalRooms());
+        card.setStatus(property.getStatus() != null ? property.getStatus().toString() : null);
+        card.setUpdatedAt(property.getUpdatedAt());
+        card.setWifi(property.isWifi());
+        card.setParking(property.isParking());
+        card.setMeals(property.isMeals());
+        card.setLaundry(property.isLaundry());
+        card.setAc(property.isAc());
+        card.setTv(property.isTv());
+        card.setGym(property.isGym());
+        card.setSecurity(property.isSecurity());
+        card.setPowerBackup(property.isPowerBackup());
+        card.setHousekeeping(property.isHousekeeping());
+        card.setDistanceKm(property.getDistanceKm());
+        return card;
+    }
+}
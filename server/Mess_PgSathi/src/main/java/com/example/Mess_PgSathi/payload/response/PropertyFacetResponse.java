@@ -0,0 +1,39 @@
+package com.example.Mess_PgSathi.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts per filter value for the current search. Each facet is counted with
+ * every other active filter applied but not its own, so the counts show what
+ * picking a different value would return.
+ */
+@Data
+@NoArgsConstructor
+public class PropertyFacetResponse {
+
+    private long total;
+    private Map<String, Long> propertyTypes = new LinkedHashMap<>();
+    private Map<String, Long> roomTypes = new LinkedHashMap<>();
+    private Map<String, Long> genderPreferences = new LinkedHashMap<>();
+    private List<PriceBucket> priceBuckets = new ArrayList<>();
+
+    // How many of the matching properties have each amenity
+    private Map<String, Long> amenities = new LinkedHashMap<>();
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class PriceBucket {
+        private double minPrice;
+        // Exclusive; null for the open-ended top bucket
+        private Double maxPrice;
+        private long count;
+    }
+}
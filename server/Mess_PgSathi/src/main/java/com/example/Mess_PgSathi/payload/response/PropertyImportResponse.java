@@ -0,0 +1,33 @@
+package com.example.Mess_PgSathi.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk property import. Rows are numbered from 1 in the order
+ * they appear in the upload (the CSV header is not counted).
+ */
+@Data
+@NoArgsConstructor
+public class PropertyImportResponse {
+
+    private int totalRows;
+    private int imported;
+    private int failed;
+
+    // Ids of the created properties, in row order
+    private List<String> propertyIds = new ArrayList<>();
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowError {
+        private int row;
+        private String message;
+    }
+}
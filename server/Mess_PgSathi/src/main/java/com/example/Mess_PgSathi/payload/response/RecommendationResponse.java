@@ -0,0 +1,16 @@
+package com.example.Mess_PgSathi.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecommendationResponse {
+
+    private PropertyCardResponse property;
+
+    // 0..1, higher is a better match for the seeker's preferences
+    private double score;
+}
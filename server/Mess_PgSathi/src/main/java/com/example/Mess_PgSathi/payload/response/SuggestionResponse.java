@@ -0,0 +1,21 @@
+package com.example.Mess_PgSathi.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SuggestionResponse {
+
+    private String text;
+    private Type type;
+
+    // Number of active listings with this value
+    private int count;
+
+    public enum Type {
+        CITY, PIN_CODE, LANDMARK, COLLEGE
+    }
+}
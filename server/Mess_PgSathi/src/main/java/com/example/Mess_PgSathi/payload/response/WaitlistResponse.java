@@ -0,0 +1,23 @@
+package com.example.Mess_PgSathi.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A seeker's place on a property's waitlist. Position 1 gets the next free room.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistResponse {
+    private String propertyId;
+    private int position;
+    private int waiting;
+    private LocalDate checkInDate;
+    private int numberOfMonths;
+    private LocalDateTime joinedAt;
+}
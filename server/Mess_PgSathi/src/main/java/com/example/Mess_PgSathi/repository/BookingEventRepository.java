@@ -0,0 +1,14 @@
+package com.example.Mess_PgSathi.repository;
+
+import com.example.Mess_PgSathi.model.BookingEvent;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BookingEventRepository extends MongoRepository<BookingEvent, String> {
+
+    // History of one booking, oldest first
+    List<BookingEvent> findByBookingIdOrderByAtAsc(String bookingId);
+}
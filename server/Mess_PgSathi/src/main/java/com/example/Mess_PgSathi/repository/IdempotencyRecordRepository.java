@@ -0,0 +1,9 @@
+package com.example.Mess_PgSathi.repository;
+
+import com.example.Mess_PgSathi.model.IdempotencyRecord;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IdempotencyRecordRepository extends MongoRepository<IdempotencyRecord, String> {
+}
@@ -0,0 +1,219 @@
+package com.example.Mess_PgSathi.repository;
+
+import com.example.Mess_PgSathi.event.PropertyChangedEvent;
+import com.example.Mess_PgSathi.model.Property;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of active properties grouped by city. Each property is kept
+ * as a small {@link Listing} (amenity bitmask, rent, rating, types, free rooms),
+ * enough to answer amenity filters and to score recommendation candidates
+ * without touching MongoDB. Amenity masks are also held in a packed int array,
+ * so an "all of these amenities" lookup is a linear scan over ints.
+ *
+ * Built at startup, kept current through {@link PropertyChangedEvent}, and
+ * rebuilt periodically so changes made by other instances are picked up.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ListingIndex {
+
+    private static final String[] INDEXED_FIELDS = {
+            "normalizedCity", "monthlyRent", "averageRating", "availableRooms",
+            "propertyType", "roomType", "genderPreference"
+    };
+
+    private final MongoTemplate mongoTemplate;
+
+    private volatile Map<String, CityBucket> buckets = new ConcurrentHashMap<>();
+    private volatile Map<String, String> cityByPropertyId = new ConcurrentHashMap<>();
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelay = 600000, fixedDelay = 600000) // Every 10 minutes
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Reload the whole index from the active properties
+     */
+    public synchronized void rebuild() {
+        Query query = new Query(Criteria.where("status").is(Property.PropertyStatus.ACTIVE));
+        query.fields().include(INDEXED_FIELDS);
+        for (Property.Amenity amenity : Property.Amenity.values()) {
+            query.fields().include(amenity.getFieldName());
+        }
+
+        Map<String, CityBucket> freshBuckets = new ConcurrentHashMap<>();
+        Map<String, String> freshCities = new ConcurrentHashMap<>();
+        try (Stream<Property> properties = mongoTemplate.stream(query, Property.class)) {
+            properties.forEach(property -> put(freshBuckets, freshCities, property));
+        }
+
+        buckets = freshBuckets;
+        cityByPropertyId = freshCities;
+        ready = true;
+        log.info("Listing index built: {} properties in {} cities", freshCities.size(), freshBuckets.size());
+    }
+
+    // Counter updates (rooms, rating) matter here too, so every change type is applied
+    @EventListener
+    public synchronized void onPropertyChanged(PropertyChangedEvent event) {
+        Property property = event.getProperty();
+        remove(property.getId());
+        if (event.getType() != PropertyChangedEvent.ChangeType.DELETED
+                && property.getStatus() == Property.PropertyStatus.ACTIVE) {
+            put(buckets, cityByPropertyId, property);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Ids of active properties in the city that have every amenity in requiredMask
+     */
+    public List<String> findIds(String normalizedCity, int requiredMask) {
+        CityBucket bucket = buckets.get(normalizedCity);
+        return bucket != null ? bucket.match(requiredMask) : List.of();
+    }
+
+    /**
+     * Visit every active listing in the city
+     */
+    public void forEachInCity(String normalizedCity, Consumer<Listing> visitor) {
+        CityBucket bucket = buckets.get(normalizedCity);
+        if (bucket != null) {
+            bucket.forEach(visitor);
+        }
+    }
+
+    private static void put(Map<String, CityBucket> buckets, Map<String, String> cities, Property property) {
+        if (property.getNormalizedCity() == null) {
+            return;
+        }
+        buckets.computeIfAbsent(property.getNormalizedCity(), city -> new CityBucket())
+                .put(Listing.of(property));
+        cities.put(property.getId(), property.getNormalizedCity());
+    }
+
+    private void remove(String propertyId) {
+        String city = cityByPropertyId.remove(propertyId);
+        if (city != null) {
+            CityBucket bucket = buckets.get(city);
+            if (bucket != null) {
+                bucket.remove(propertyId);
+            }
+        }
+    }
+
+    /**
+     * What the index keeps per property
+     */
+    @Value
+    public static class Listing {
+        String id;
+        int amenityMask;
+        double monthlyRent;
+        double averageRating;
+        int availableRooms;
+        Property.PropertyType propertyType;
+        Property.RoomType roomType;
+        Property.GenderPreference genderPreference;
+
+        static Listing of(Property property) {
+            return new Listing(
+                    property.getId(),
+                    property.amenityMask(),
+                    property.getMonthlyRent() != null ? property.getMonthlyRent() : 0.0,
+                    property.getAverageRating() != null ? property.getAverageRating() : 0.0,
+                    property.getAvailableRooms() != null ? property.getAvailableRooms() : 0,
+                    property.getPropertyType(),
+                    property.getRoomType(),
+                    property.getGenderPreference());
+        }
+    }
+
+    /**
+     * Parallel listing / mask arrays for one city. Removal swaps the last entry
+     * into the freed slot so the arrays stay dense.
+     */
+    private static final class CityBucket {
+        private Listing[] listings = new Listing[16];
+        private int[] masks = new int[16];
+        private int size;
+        private final Map<String, Integer> slots = new HashMap<>();
+
+        synchronized void put(Listing listing) {
+            Integer slot = slots.get(listing.getId());
+            if (slot != null) {
+                listings[slot] = listing;
+                masks[slot] = listing.getAmenityMask();
+                return;
+            }
+            if (size == listings.length) {
+                listings = Arrays.copyOf(listings, size * 2);
+                masks = Arrays.copyOf(masks, size * 2);
+            }
+            listings[size] = listing;
+            masks[size] = listing.getAmenityMask();
+            slots.put(listing.getId(), size);
+            size++;
+        }
+
+        synchronized void remove(String id) {
+            Integer slot = slots.remove(id);
+            if (slot == null) {
+                return;
+            }
+            int last = --size;
+            if (slot != last) {
+                listings[slot] = listings[last];
+                masks[slot] = masks[last];
+                slots.put(listings[slot].getId(), slot);
+            }
+            listings[last] = null;
+        }
+
+        synchronized List<String> match(int requiredMask) {
+            List<String> matches = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                if ((masks[i] & requiredMask) == requiredMask) {
+                    matches.add(listings[i].getId());
+                }
+            }
+            return matches;
+        }
+
+        synchronized void forEach(Consumer<Listing> visitor) {
+            for (int i = 0; i < size; i++) {
+                visitor.accept(listings[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.Mess_PgSathi.repository;
+
+import com.example.Mess_PgSathi.event.PropertyChangedEvent;
+import com.example.Mess_PgSathi.model.Booking;
+import com.example.Mess_PgSathi.model.OccupancyBucket;
+import com.example.Mess_PgSathi.model.Property;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Per-property occupancy by calendar month, kept in {@link OccupancyBucket}s.
+ * A booking adds one bed to every month of its stay when it becomes active and
+ * gives back the months it will no longer use when it ends early, so the
+ * calendar is maintained incrementally and never rebuilt from bookings (except
+ * once, by the startup seed).
+ *
+ * Search asks which properties are full in any month of a requested stay; that
+ * is one covered query on the month_full_property index.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OccupancyCalendar {
+
+    // Records that the calendar was seeded once, so later starts skip the booking scan
+    private static final String SEED_COLLECTION = "occupancy_seed";
+    private static final String SEED_MARKER_ID = "calendar";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Seed the calendar from active bookings unless a completed seed is recorded.
+     * Each bucket is raised to the count of bookings covering it rather than
+     * incremented, so instances seeding together, or a seed rerun after one that
+     * failed midway, end with the same counts. The marker is written last.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Query marker = new Query(Criteria.where("_id").is(SEED_MARKER_ID));
+        if (mongoTemplate.exists(marker, SEED_COLLECTION)) {
+            return;
+        }
+        Map<String, OccupancyBucket> buckets = new HashMap<>();
+        int seeded = 0;
+        Query active = new Query(Criteria.where("status").is(Booking.BookingStatus.ACTIVE));
+        try (Stream<Booking> bookings = mongoTemplate.stream(active, Booking.class)) {
+            for (Booking booking : (Iterable<Booking>) bookings::iterator) {
+                for (YearMonth month : stayMonths(booking.getCheckInDate(), booking.getNumberOfMonths())) {
+                    OccupancyBucket bucket = buckets.computeIfAbsent(bucketId(booking.getPropertyId(), month),
+                            id -> new OccupancyBucket(id, booking.getPropertyId(), month.toString(), 0, 0, false));
+                    bucket.setOccupiedRooms(bucket.getOccupiedRooms() + 1);
+                }
+                seeded++;
+            }
+        }
+
+        if (!buckets.isEmpty()) {
+            Map<String, Integer> totalRooms = new HashMap<>();
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OccupancyBucket.class);
+            for (OccupancyBucket bucket : buckets.values()) {
+                int count = bucket.getOccupiedRooms();
+                AggregationUpdate seed = AggregationUpdate.update()
+                        .set("propertyId").toValue(bucket.getPropertyId())
+                        .set("month").toValue(bucket.getMonth())
+                        .set("totalRooms").toValue(totalRooms.computeIfAbsent(bucket.getPropertyId(), this::totalRooms))
+                        .set("occupiedRooms").toValue(ConditionalOperators
+                                .when(ComparisonOperators.valueOf("occupiedRooms").greaterThanEqualToValue(count))
+                                .thenValueOf("occupiedRooms")
+                                .otherwise(count))
+                        .set("full").toValue(ComparisonOperators.valueOf("occupiedRooms").greaterThanEqualTo("totalRooms"));
+                bulk.upsert(new Query(Criteria.where("_id").is(bucket.getId())), seed);
+            }
+            bulk.execute();
+        }
+        mongoTemplate.upsert(marker, new Update().set("seededAt", LocalDateTime.now()).set("bookings", seeded),
+                SEED_COLLECTION);
+        log.info("Occupancy calendar seeded from {} active bookings into {} buckets", seeded, buckets.size());
+    }
+
+    /**
+     * Add the booking's bed to every month from check-in to the end of the stay
+     */
+    public void occupy(Booking booking) {
+        List<YearMonth> months = stayMonths(booking.getCheckInDate(), booking.getNumberOfMonths());
+        if (months.isEmpty()) {
+            return;
+        }
+        int totalRooms = totalRooms(booking.getPropertyId());
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OccupancyBucket.class);
+        for (YearMonth month : months) {
+            AggregationUpdate addBed = AggregationUpdate.update()
+                    .set("propertyId").toValue(booking.getPropertyId())
+                    .set("month").toValue(month.toString())
+                    .set("totalRooms").toValue(totalRooms)
+                    .set("occupiedRooms").toValue(ArithmeticOperators.valueOf(
+                            ConditionalOperators.ifNull("occupiedRooms").then(0)).add(1))
+                    .set("full").toValue(ComparisonOperators.valueOf("occupiedRooms").greaterThanEqualTo("totalRooms"));
+            bulk.upsert(new Query(Criteria.where("_id").is(bucketId(booking.getPropertyId(), month))), addBed);
+        }
+        bulk.execute();
+    }
+
+    /**
+     * Give back the booking's bed for the months of its stay after {@code leftIn}
+     */
+    public void vacateAfter(Booking booking, LocalDate leftIn) {
+        YearMonth firstFree = YearMonth.from(leftIn).plusMonths(1);
+        List<String> ids = stayMonths(booking.getCheckInDate(), booking.getNumberOfMonths()).stream()
+                .filter(month -> !month.isBefore(firstFree))
+                .map(month -> bucketId(booking.getPropertyId(), month))
+                .toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        AggregationUpdate removeBed = AggregationUpdate.update()
+                .set("occupiedRooms").toValue(ArithmeticOperators.valueOf("occupiedRooms").subtract(1))
+                .set("full").toValue(ComparisonOperators.valueOf("occupiedRooms").greaterThanEqualTo("totalRooms"));
+        mongoTemplate.updateMulti(new Query(Criteria.where("_id").in(ids).and("occupiedRooms").gt(0)),
+                removeBed, OccupancyBucket.class);
+    }
+
+    /**
+     * Properties with no free bed in at least one month of a stay starting on
+     * moveInDate and lasting the given number of months
+     */
+    public Set<String> findFullPropertyIds(LocalDate moveInDate, int months) {
+        List<YearMonth> stay = stayMonths(moveInDate, months);
+        Query fullMonths = new Query(Criteria.where("month")
+                .gte(stay.get(0).toString())
+                .lte(stay.get(stay.size() - 1).toString())
+                .and("full").is(true));
+        return new HashSet<>(mongoTemplate.findDistinct(fullMonths, "propertyId", OccupancyBucket.class, String.class));
+    }
+
+    // A change of totalRooms moves every bucket's full flag; a deleted property drops its calendar
+    @EventListener
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        Property property = event.getProperty();
+        Query buckets = new Query(Criteria.where("propertyId").is(property.getId()));
+        if (event.getType() == PropertyChangedEvent.ChangeType.DELETED) {
+            mongoTemplate.remove(buckets, OccupancyBucket.class);
+        } else if (event.getType() == PropertyChangedEvent.ChangeType.UPDATED && property.getTotalRooms() != null) {
+            buckets.addCriteria(Criteria.where("totalRooms").ne(property.getTotalRooms()));
+            AggregationUpdate resize = AggregationUpdate.update()
+                    .set("totalRooms").toValue(property.getTotalRooms())
+                    .set("full").toValue(ComparisonOperators.valueOf("occupiedRooms").greaterThanEqualTo("totalRooms"));
+            mongoTemplate.updateMulti(buckets, resize, OccupancyBucket.class);
+        }
+    }
+
+    /**
+     * Calendar months touched by a stay: 1 July for 6 months is July to December,
+     * 15 July for 6 months runs into January.
+     */
+    static List<YearMonth> stayMonths(LocalDate start, int months) {
+        if (start == null || months <= 0) {
+            return List.of();
+        }
+        YearMonth first = YearMonth.from(start);
+        YearMonth last = YearMonth.from(start.plusMonths(months).minusDays(1));
+        return Stream.iterate(first, month -> !month.isAfter(last), month -> month.plusMonths(1)).toList();
+    }
+
+    private int totalRooms(String propertyId) {
+        Query query = new Query(Criteria.where("_id").is(propertyId));
+        query.fields().include("totalRooms");
+        Property property = mongoTemplate.findOne(query, Property.class);
+        return property != null && property.getTotalRooms() != null ? property.getTotalRooms() : 0;
+    }
+
+    private static String bucketId(String propertyId, YearMonth month) {
+        return propertyId + ":" + month;
+    }
+}
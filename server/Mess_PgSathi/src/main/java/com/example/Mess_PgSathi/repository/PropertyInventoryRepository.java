@@ -0,0 +1,46 @@
+package com.example.Mess_PgSathi.repository;
+
+import com.example.Mess_PgSathi.model.Property;
+
+import java.util.Optional;
+
+/**
+ * Counters other services keep on a property (rooms, rating) and its waitlist,
+ * updated in place with findAndModify so concurrent bookings can neither
+ * oversell a property nor overwrite other fields of it. Each update also bumps
+ * the version, so an owner edit loaded before it fails its version check and
+ * is retried.
+ */
+public interface PropertyInventoryRepository {
+
+    // Longest waitlist a property keeps
+    int MAX_WAITLIST = 50;
+
+    /**
+     * Take one room if any is free. Empty when the property is sold out or missing.
+     */
+    Optional<Property> reserveRoom(String propertyId);
+
+    /**
+     * Give one room back. If anyone is waiting, the room passes straight to the
+     * head of the waitlist in the same update and availableRooms stays as it is.
+     * Empty when nothing changed (no one waiting and every room already free).
+     */
+    Optional<RoomRelease> releaseRoom(String propertyId);
+
+    /**
+     * Append a seeker to the waitlist of an active, full property. Empty when
+     * the property has a free room, the seeker is already waiting or the list is full.
+     */
+    Optional<Property> joinWaitlist(String propertyId, Property.WaitlistEntry entry);
+
+    /**
+     * Take a seeker off the waitlist. False when they were not on it.
+     */
+    boolean leaveWaitlist(String propertyId, String seekerId);
+
+    /**
+     * Store a recalculated rating. Empty when the property no longer exists.
+     */
+    Optional<Property> updateRating(String propertyId, double averageRating, int totalReviews);
+}
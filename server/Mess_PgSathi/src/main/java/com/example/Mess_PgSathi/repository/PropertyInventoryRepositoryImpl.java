@@ -0,0 +1,104 @@
+package com.example.Mess_PgSathi.repository;
+
+import com.example.Mess_PgSathi.model.Property;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class PropertyInventoryRepositoryImpl implements PropertyInventoryRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<Property> reserveRoom(String propertyId) {
+        Query query = new Query(Criteria.where("id").is(propertyId).and("availableRooms").gt(0));
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, roomUpdate(-1),
+                FindAndModifyOptions.options().returnNew(true), Property.class));
+    }
+
+    @Override
+    public Optional<RoomRelease> releaseRoom(String propertyId) {
+        // Someone is waiting (the room passes to them) or a room is actually taken
+        Query query = new Query(Criteria.where("id").is(propertyId).orOperator(
+                Criteria.where("waitlist.0").exists(true),
+                Criteria.expr(ComparisonOperators.valueOf("availableRooms").lessThan("totalRooms"))));
+
+        // Both stages read the waitlist as it was before the update
+        AggregationExpression waitlist = ConditionalOperators.ifNull("waitlist").then(List.of());
+        AggregationUpdate handOff = AggregationUpdate.update()
+                .set("availableRooms").toValue(ConditionalOperators
+                        .when(ComparisonOperators.valueOf(ArrayOperators.Size.lengthOfArray(waitlist)).greaterThanValue(0))
+                        .thenValueOf("availableRooms")
+                        .otherwiseValueOf(ArithmeticOperators.valueOf("availableRooms").add(1)))
+                .set("waitlist").toValue(ArrayOperators.arrayOf(waitlist).slice().offset(1).itemCount(MAX_WAITLIST))
+                .set("updatedAt").toValue(LocalDateTime.now())
+                .set("version").toValue(ArithmeticOperators.valueOf(ConditionalOperators.ifNull("version").then(0)).add(1));
+
+        Property property = mongoTemplate.findAndModify(query, handOff,
+                FindAndModifyOptions.options().returnNew(false), Property.class);
+        if (property == null) {
+            return Optional.empty();
+        }
+
+        // Replay the update on the previous state, which is the only place the promoted entry is still visible
+        List<Property.WaitlistEntry> waiting = property.getWaitlist() != null ? property.getWaitlist() : List.of();
+        Property.WaitlistEntry promoted = waiting.isEmpty() ? null : waiting.get(0);
+        if (promoted == null) {
+            property.setAvailableRooms(property.getAvailableRooms() + 1);
+        } else {
+            property.setWaitlist(new ArrayList<>(waiting.subList(1, waiting.size())));
+        }
+        property.setVersion(property.getVersion() != null ? property.getVersion() + 1 : 1L);
+        return Optional.of(new RoomRelease(property, promoted));
+    }
+
+    @Override
+    public Optional<Property> joinWaitlist(String propertyId, Property.WaitlistEntry entry) {
+        Query query = new Query(Criteria.where("id").is(propertyId)
+                .and("status").is(Property.PropertyStatus.ACTIVE)
+                .and("availableRooms").lte(0)
+                .and("waitlist.seekerId").ne(entry.getSeekerId())
+                .and("waitlist." + (MAX_WAITLIST - 1)).exists(false));
+        Update update = new Update().push("waitlist", entry).inc("version", 1);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Property.class));
+    }
+
+    @Override
+    public boolean leaveWaitlist(String propertyId, String seekerId) {
+        Query query = new Query(Criteria.where("id").is(propertyId).and("waitlist.seekerId").is(seekerId));
+        Update update = new Update().pull("waitlist", new Document("seekerId", seekerId)).inc("version", 1);
+        return mongoTemplate.updateFirst(query, update, Property.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public Optional<Property> updateRating(String propertyId, double averageRating, int totalReviews) {
+        Update update = new Update()
+                .set("averageRating", averageRating)
+                .set("totalReviews", totalReviews)
+                .set("updatedAt", LocalDateTime.now())
+                .inc("version", 1);
+        return Optional.ofNullable(mongoTemplate.findAndModify(new Query(Criteria.where("id").is(propertyId)), update,
+                FindAndModifyOptions.options().returnNew(true), Property.class));
+    }
+
+    private static Update roomUpdate(int delta) {
+        return new Update().inc("availableRooms", delta).set("updatedAt", LocalDateTime.now()).inc("version", 1);
+    }
+}
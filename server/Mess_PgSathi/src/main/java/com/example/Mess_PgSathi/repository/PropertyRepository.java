@@ -6,12 +6,33 @@ import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface PropertyRepository extends MongoRepository<Property, String> {
+public interface PropertyRepository extends MongoRepository<Property, String>, PropertySearchRepository,
+        PropertyInventoryRepository {
     
     // Find properties by owner
     List<Property> findByOwnerId(String ownerId);
+
+    // Only the PropertyCardResponse fields and the first image; mirrors PropertyCardResponse.FIELDS
+    String CARD_PROJECTION = "{ 'name': 1, 'city': 1, 'state': 1, 'latitude': 1, 'longitude': 1, 'propertyType': 1, "
+            + "'monthlyRent': 1, 'roomType': 1, 'averageRating': 1, 'totalReviews': 1, "
+            + "'availableRooms': 1, 'totalRooms': 1, 'status': 1, 'updatedAt': 1, "
+            + "'wifi': 1, 'parking': 1, 'meals': 1, 'laundry': 1, 'ac': 1, 'tv': 1, 'gym': 1, 'security': 1, "
+            + "'powerBackup': 1, 'housekeeping': 1, 'imageUrls': { $slice: 1 } }";
+
+    // Owner listings as cards
+    @Query(value = "{ 'ownerId': ?0 }",
+           fields = CARD_PROJECTION)
+    List<Property> findCardsByOwnerId(String ownerId);
+
+    @Query(value = "{ 'ownerId': ?0, 'status': ?1 }",
+           fields = CARD_PROJECTION)
+    List<Property> findCardsByOwnerIdAndStatus(String ownerId, Property.PropertyStatus status);
+
+    // Full owner portfolio read through a cursor, for exports; must be closed
+    Stream<Property> streamByOwnerIdOrderByCreatedAtDesc(String ownerId);
     
     // Find properties by status
     List<Property> findByStatus(Property.PropertyStatus status);
@@ -38,14 +59,6 @@ public interface PropertyRepository extends MongoRepository<Property, String> {
     @Query("{ 'monthlyRent': { $gte: ?0, $lte: ?1 }, 'status': 'ACTIVE' }")
     List<Property> findByPriceRangeAndActiveStatus(Double minPrice, Double maxPrice);
     
-    // Search properties by location (city contains)
-    @Query("{ 'city': { $regex: ?0, $options: 'i' }, 'status': 'ACTIVE' }")
-    List<Property> searchByLocationAndActiveStatus(String location);
-    
-    // Find properties with specific amenities
-    @Query("{ $and: [ { 'status': 'ACTIVE' }, { $or: [ {'wifi': ?0}, {'parking': ?1}, {'meals': ?2}, {'laundry': ?3} ] } ] }")
-    List<Property> findByAmenitiesAndActiveStatus(boolean wifi, boolean parking, boolean meals, boolean laundry);
-    
     // Count properties by owner
     long countByOwnerId(String ownerId);
     
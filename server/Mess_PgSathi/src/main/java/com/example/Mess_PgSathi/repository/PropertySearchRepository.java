@@ -0,0 +1,42 @@
+package com.example.Mess_PgSathi.repository;
+
+import com.example.Mess_PgSathi.model.Property;
+import com.example.Mess_PgSathi.payload.request.PropertySearchCursor;
+import com.example.Mess_PgSathi.payload.request.PropertySearchRequest;
+import com.example.Mess_PgSathi.payload.response.PropertyFacetResponse;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Criteria based search over active properties, implemented with MongoTemplate
+ * so that every filter present in the request is pushed down into one query.
+ * Results are projected to the listing card fields (see PropertyCardResponse).
+ */
+public interface PropertySearchRepository {
+
+    List<Property> search(PropertySearchRequest request);
+
+    /**
+     * One page in keyset order: items strictly after {@code after} (null for the
+     * first page), sorted by the sort field with the id as tie-breaker.
+     */
+    List<Property> searchPage(PropertySearchRequest request, PropertySearchRequest.SortBy sort,
+                              PropertySearchCursor after, int limit);
+
+    /**
+     * Count matching properties, stopping at {@code cap}.
+     */
+    long countMatching(PropertySearchRequest request, int cap);
+
+    /**
+     * The first maxRows matching properties with the card fields only, in id
+     * order, read through a cursor. The caller must close the stream.
+     */
+    Stream<Property> streamMatching(PropertySearchRequest request, int maxRows);
+
+    /**
+     * Counts per property type, room type, gender preference, rent bucket and amenity.
+     */
+    PropertyFacetResponse facets(PropertySearchRequest request);
+}
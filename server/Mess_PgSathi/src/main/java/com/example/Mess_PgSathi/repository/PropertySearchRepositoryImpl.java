@@ -0,0 +1,401 @@
+package com.example.Mess_PgSathi.repository;
+
+import com.example.Mess_PgSathi.model.Property;
+import com.example.Mess_PgSathi.payload.request.PropertySearchCursor;
+import com.example.Mess_PgSathi.payload.request.PropertySearchRequest;
+import com.example.Mess_PgSathi.payload.response.PropertyCardResponse;
+import com.example.Mess_PgSathi.payload.response.PropertyFacetResponse;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.BucketOperation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.GroupOperation;
+import org.springframework.data.mongodb.core.aggregation.MatchOperation;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.NearQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.regex.Pattern;
+
+@RequiredArgsConstructor
+public class PropertySearchRepositoryImpl implements PropertySearchRepository {
+
+    // Lower bounds of the rent facet buckets; the last one is open-ended
+    private static final Integer[] PRICE_BOUNDARIES = {0, 3000, 5000, 8000, 12000, 20000};
+
+    // Documents per cursor batch when streaming an export
+    private static final int EXPORT_BATCH_SIZE = 200;
+
+    // Above this many matches the amenity flags are matched in MongoDB without an _id list
+    private static final int MAX_AMENITY_IDS = 300;
+
+    private enum Facet {
+        PROPERTY_TYPE, ROOM_TYPE, GENDER_PREFERENCE, PRICE
+    }
+
+    // Card fields (which include the coordinates distances use) plus what cursors are computed from
+    private static final String[] RESULT_FIELDS = Stream.concat(
+            Arrays.stream(PropertyCardResponse.FIELDS), Stream.of("createdAt"))
+            .toArray(String[]::new);
+
+    private final MongoTemplate mongoTemplate;
+    private final ListingIndex listingIndex;
+    private final OccupancyCalendar occupancyCalendar;
+
+    @Override
+    public List<Property> search(PropertySearchRequest request) {
+        Criteria criteria = buildCriteria(request);
+        if (request.hasKeyword()) {
+            // $text cannot run inside $geoNear, so a keyword search filters by radius instead
+            if (request.hasLocation()) {
+                criteria.and("location").withinSphere(radiusCircle(request));
+            }
+            Query query = TextQuery.queryText(textCriteria(request))
+                    .sortByScore()
+                    .includeScore("textScore")
+                    .addCriteria(criteria);
+            return mongoTemplate.find(withResultFields(query), Property.class);
+        }
+        if (request.hasLocation()) {
+            return geoNear(request, criteria, null, 0);
+        }
+        return mongoTemplate.find(withResultFields(new Query(criteria)), Property.class);
+    }
+
+    @Override
+    public List<Property> searchPage(PropertySearchRequest request, PropertySearchRequest.SortBy sort,
+                                     PropertySearchCursor after, int limit) {
+        Criteria criteria = buildCriteria(request);
+        if (sort == PropertySearchRequest.SortBy.DISTANCE) {
+            return geoNear(request, criteria, after, limit);
+        }
+        if (request.hasLocation()) {
+            criteria.and("location").withinSphere(radiusCircle(request));
+        }
+        if (sort == PropertySearchRequest.SortBy.RELEVANCE) {
+            return relevancePage(request, criteria, after, limit);
+        }
+        if (after != null) {
+            criteria.orOperator(keysetCriteria(sort, after));
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by(sort.getDirection(), sort.getField(), "id"))
+                .limit(limit);
+        if (request.hasKeyword()) {
+            query.addCriteria(textCriteria(request));
+        }
+        return mongoTemplate.find(withResultFields(query), Property.class);
+    }
+
+    @Override
+    public long countMatching(PropertySearchRequest request, int cap) {
+        Criteria criteria = buildCriteria(request);
+        if (request.hasLocation()) {
+            criteria.and("location").withinSphere(radiusCircle(request));
+        }
+        Query query = new Query(criteria).limit(cap);
+        if (request.hasKeyword()) {
+            query.addCriteria(textCriteria(request));
+        }
+        return mongoTemplate.count(query, Property.class);
+    }
+
+    @Override
+    public Stream<Property> streamMatching(PropertySearchRequest request, int maxRows) {
+        Criteria criteria = buildCriteria(request);
+        if (request.hasLocation()) {
+            criteria.and("location").withinSphere(radiusCircle(request));
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by("id"))
+                .limit(maxRows)
+                .cursorBatchSize(EXPORT_BATCH_SIZE);
+        if (request.hasKeyword()) {
+            query.addCriteria(textCriteria(request));
+        }
+        return mongoTemplate.stream(withResultFields(query), Property.class);
+    }
+
+    /**
+     * Keyword results by text score. The score only exists inside a pipeline, so
+     * it is materialised with $addFields before the keyset match on it.
+     */
+    private List<Property> relevancePage(PropertySearchRequest request, Criteria criteria,
+                                         PropertySearchCursor after, int limit) {
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(Aggregation.match(textCriteria(request)));
+        stages.add(Aggregation.match(criteria));
+        stages.add(context -> new Document("$addFields",
+                new Document("textScore", new Document("$meta", "textScore"))));
+        if (after != null) {
+            stages.add(Aggregation.match(new Criteria().orOperator(
+                    keysetCriteria(PropertySearchRequest.SortBy.RELEVANCE, after))));
+        }
+        stages.add(Aggregation.sort(Sort.by(Sort.Direction.DESC, "textScore", "id")));
+        stages.add(Aggregation.limit(limit));
+        stages.add(resultProjection("textScore"));
+        return mongoTemplate.aggregate(Aggregation.newAggregation(stages), Property.class, Property.class)
+                .getMappedResults();
+    }
+
+    private static Query withResultFields(Query query) {
+        query.fields().include(RESULT_FIELDS).slice("imageUrls", 1);
+        return query;
+    }
+
+    private static AggregationOperation resultProjection(String... extraFields) {
+        Document projection = new Document();
+        for (String field : RESULT_FIELDS) {
+            projection.append(field, 1);
+        }
+        for (String field : extraFields) {
+            projection.append(field, 1);
+        }
+        projection.append("imageUrls", new Document("$slice", List.of("$imageUrls", 1)));
+        return context -> new Document("$project", projection);
+    }
+
+    private static TextCriteria textCriteria(PropertySearchRequest request) {
+        // Quotes and '-' switch $search into phrase / negation mode; treat input as plain words
+        String words = request.getKeyword().replaceAll("[\"\\-]", " ").trim();
+        return TextCriteria.forDefaultLanguage().matching(words);
+    }
+
+    /**
+     * All facet counts in one $facet aggregation. Filters that are not facets are
+     * matched once up front; each facet branch then applies the remaining facet
+     * filters except its own.
+     */
+    @Override
+    public PropertyFacetResponse facets(PropertySearchRequest request) {
+        Criteria common = Criteria.where("status").is(Property.PropertyStatus.ACTIVE);
+        if (StringUtils.hasText(request.getCity())) {
+            common.and("normalizedCity").is(Property.normalizeCity(request.getCity()));
+        }
+        addResidualFilters(common, request);
+        if (request.hasLocation()) {
+            common.and("location").withinSphere(radiusCircle(request));
+        }
+
+        GroupOperation amenityCounts = Aggregation.group().count().as("total");
+        for (Property.Amenity amenity : Property.Amenity.values()) {
+            amenityCounts = amenityCounts
+                    .sum(ConditionalOperators.when(Criteria.where(amenity.getFieldName()).is(true)).then(1).otherwise(0))
+                    .as(amenity.getFieldName());
+        }
+        BucketOperation priceBuckets = Aggregation.bucket("monthlyRent")
+                .withBoundaries((Object[]) PRICE_BOUNDARIES)
+                .withDefaultBucket(PRICE_BOUNDARIES[PRICE_BOUNDARIES.length - 1])
+                .andOutputCount().as("count");
+
+        List<AggregationOperation> stages = new ArrayList<>();
+        if (request.hasKeyword()) {
+            // $text has to be in the first stage of the pipeline
+            stages.add(Aggregation.match(textCriteria(request)));
+        }
+        stages.add(Aggregation.match(common));
+        stages.add(Aggregation.facet(facetMatch(request, Facet.PROPERTY_TYPE), Aggregation.group("propertyType").count().as("count"))
+                .as("propertyTypes")
+                .and(facetMatch(request, Facet.ROOM_TYPE), Aggregation.group("roomType").count().as("count"))
+                .as("roomTypes")
+                .and(facetMatch(request, Facet.GENDER_PREFERENCE), Aggregation.group("genderPreference").count().as("count"))
+                .as("genderPreferences")
+                .and(facetMatch(request, Facet.PRICE), priceBuckets)
+                .as("priceBuckets")
+                .and(facetMatch(request, null), amenityCounts)
+                .as("amenities"));
+
+        Document result = mongoTemplate.aggregate(Aggregation.newAggregation(stages), Property.class, Document.class).getUniqueMappedResult();
+        PropertyFacetResponse response = new PropertyFacetResponse();
+        if (result == null) {
+            return response;
+        }
+        putCounts(result, "propertyTypes", response.getPropertyTypes());
+        putCounts(result, "roomTypes", response.getRoomTypes());
+        putCounts(result, "genderPreferences", response.getGenderPreferences());
+        for (Document bucket : result.getList("priceBuckets", Document.class)) {
+            double min = ((Number) bucket.get("_id")).doubleValue();
+            int next = Arrays.binarySearch(PRICE_BOUNDARIES, (int) min) + 1;
+            Double max = next > 0 && next < PRICE_BOUNDARIES.length ? Double.valueOf(PRICE_BOUNDARIES[next]) : null;
+            response.getPriceBuckets().add(new PropertyFacetResponse.PriceBucket(min, max, count(bucket, "count")));
+        }
+        List<Document> amenities = result.getList("amenities", Document.class);
+        if (!amenities.isEmpty()) {
+            Document totals = amenities.get(0);
+            response.setTotal(count(totals, "total"));
+            for (Property.Amenity amenity : Property.Amenity.values()) {
+                response.getAmenities().put(amenity.getFieldName(), count(totals, amenity.getFieldName()));
+            }
+        }
+        return response;
+    }
+
+    private static MatchOperation facetMatch(PropertySearchRequest request, Facet skip) {
+        Criteria criteria = new Criteria();
+        addFacetFilters(criteria, request, skip);
+        return Aggregation.match(criteria);
+    }
+
+    private static void putCounts(Document result, String facet, Map<String, Long> counts) {
+        for (Document group : result.getList(facet, Document.class)) {
+            if (group.get("_id") != null) {
+                counts.put(group.get("_id").toString(), count(group, "count"));
+            }
+        }
+    }
+
+    private static long count(Document document, String field) {
+        Object value = document.get(field);
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
+    /**
+     * Matches ordered by the distance $geoNear computes, then by id. When
+     * continuing from a cursor, minDistance only prunes the scan to roughly the
+     * last distance seen; the exact (distance, id) keyset match after $geoNear
+     * decides what comes next, so equidistant listings are neither repeated nor skipped.
+     */
+    private List<Property> geoNear(PropertySearchRequest request, Criteria criteria,
+                                   PropertySearchCursor after, int limit) {
+        NearQuery nearQuery = NearQuery.near(new GeoJsonPoint(request.getLongitude(), request.getLatitude()))
+                .spherical(true)
+                .maxDistance(new Distance(request.getRadiusKm(), Metrics.KILOMETERS))
+                .inKilometers()     // geoDistance comes back in km, like the cursor value
+                .query(new Query(criteria));
+        PropertySearchRequest.SortBy sort = PropertySearchRequest.SortBy.DISTANCE;
+        if (after != null && after.getValue() != null) {
+            // Back off one metre so unit conversion never prunes an equidistant neighbour
+            double minDistanceKm = Math.max(0, (Double) after.getValue() - 0.001);
+            nearQuery.minDistance(new Distance(minDistanceKm, Metrics.KILOMETERS));
+        }
+        List<AggregationOperation> stages = new ArrayList<>();
+        stages.add(Aggregation.geoNear(nearQuery, sort.getField()));
+        if (after != null && after.getValue() != null) {
+            stages.add(Aggregation.match(new Criteria().orOperator(keysetCriteria(sort, after))));
+        }
+        if (limit > 0) {
+            // $geoNear leaves ties in no particular order
+            stages.add(Aggregation.sort(Sort.by(Sort.Direction.ASC, sort.getField(), "id")));
+            stages.add(Aggregation.limit(limit));
+        }
+        stages.add(resultProjection(sort.getField()));
+        return mongoTemplate.aggregate(Aggregation.newAggregation(stages), Property.class, Property.class)
+                .getMappedResults();
+    }
+
+    private static Circle radiusCircle(PropertySearchRequest request) {
+        return new Circle(new Point(request.getLongitude(), request.getLatitude()),
+                new Distance(request.getRadiusKm(), Metrics.KILOMETERS));
+    }
+
+    /**
+     * (field beyond value) OR (field == value AND id beyond lastId), so the next
+     * page starts right after the cursor without skipping over earlier results.
+     */
+    private static Criteria[] keysetCriteria(PropertySearchRequest.SortBy sort, PropertySearchCursor after) {
+        boolean ascending = sort.getDirection().isAscending();
+        Criteria beyondValue = ascending
+                ? Criteria.where(sort.getField()).gt(after.getValue())
+                : Criteria.where(sort.getField()).lt(after.getValue());
+        Criteria sameValue = Criteria.where(sort.getField()).is(after.getValue());
+        sameValue = ascending ? sameValue.and("id").gt(after.getId()) : sameValue.and("id").lt(after.getId());
+        return new Criteria[]{beyondValue, sameValue};
+    }
+
+    /**
+     * Build one criteria from whichever filters are present. Fields are added in
+     * the order of the compound indexes declared on {@link Property}.
+     */
+    Criteria buildCriteria(PropertySearchRequest request) {
+        Criteria criteria = Criteria.where("status").is(Property.PropertyStatus.ACTIVE);
+        if (StringUtils.hasText(request.getCity())) {
+            criteria.and("normalizedCity").is(Property.normalizeCity(request.getCity()));
+        }
+        addFacetFilters(criteria, request, null);
+        addResidualFilters(criteria, request);
+        return criteria;
+    }
+
+    /**
+     * The filters that have a facet on the browse page. {@code skip} leaves one of
+     * them out so that facet can be counted across all of its values.
+     */
+    private static void addFacetFilters(Criteria criteria, PropertySearchRequest request, Facet skip) {
+        if (skip != Facet.PROPERTY_TYPE && StringUtils.hasText(request.getPropertyType())) {
+            criteria.and("propertyType").is(parseEnum(Property.PropertyType.class, request.getPropertyType()));
+        }
+        if (skip != Facet.ROOM_TYPE && StringUtils.hasText(request.getRoomType())) {
+            criteria.and("roomType").is(parseEnum(Property.RoomType.class, request.getRoomType()));
+        }
+        if (skip != Facet.GENDER_PREFERENCE && StringUtils.hasText(request.getGenderPreference())) {
+            criteria.and("genderPreference").is(parseEnum(Property.GenderPreference.class, request.getGenderPreference()));
+        }
+        if (skip != Facet.PRICE && (request.getMinPrice() != null || request.getMaxPrice() != null)) {
+            Criteria rent = criteria.and("monthlyRent");
+            if (request.getMinPrice() != null) {
+                rent.gte(request.getMinPrice());
+            }
+            if (request.getMaxPrice() != null) {
+                rent.lte(request.getMaxPrice());
+            }
+        }
+    }
+
+    private void addResidualFilters(Criteria criteria, PropertySearchRequest request) {
+        if (StringUtils.hasText(request.getState())) {
+            // State is only a residual filter; the indexed fields above narrow the scan first
+            criteria.and("state").regex("^" + Pattern.quote(request.getState().trim()) + "$", "i");
+        }
+        // Properties with a fully booked month in the stay, read from the occupancy calendar index
+        Set<String> full = request.hasStay()
+                ? occupancyCalendar.findFullPropertyIds(request.getMoveInDate(), stayMonths(request))
+                : Set.of();
+        int amenityMask = Property.Amenity.maskOf(request.getAmenities());
+        List<String> amenityIds = amenityMask != 0 && StringUtils.hasText(request.getCity()) && listingIndex.isReady()
+                ? listingIndex.findIds(Property.normalizeCity(request.getCity()), amenityMask)
+                : null;
+        if (amenityIds != null && amenityIds.size() <= MAX_AMENITY_IDS) {
+            // A short _id list from the in-memory index narrows the scan; the index can
+            // lag edits made on other instances, so the flags below still decide the match
+            List<String> ids = new ArrayList<>(amenityIds);
+            ids.removeAll(full);
+            criteria.and("id").in(ids);
+        } else if (!full.isEmpty()) {
+            criteria.and("id").nin(full);
+        }
+        if (amenityMask != 0) {
+            for (Property.Amenity amenity : Property.Amenity.values()) {
+                if ((amenityMask & amenity.bit()) != 0) {
+                    criteria.and(amenity.getFieldName()).is(true);
+                }
+            }
+        }
+    }
+
+    static int stayMonths(PropertySearchRequest request) {
+        return request.getStayMonths() != null ? request.getStayMonths() : 1;
+    }
+
+    static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+    }
+}
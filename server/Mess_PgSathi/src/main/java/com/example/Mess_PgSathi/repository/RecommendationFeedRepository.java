@@ -0,0 +1,9 @@
+package com.example.Mess_PgSathi.repository;
+
+import com.example.Mess_PgSathi.model.RecommendationFeed;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RecommendationFeedRepository extends MongoRepository<RecommendationFeed, String> {
+}
@@ -14,6 +14,7 @@ public interface ReviewRepository extends MongoRepository<Review, String> {
     List<Review> findByPropertyId(String propertyId);
     List<Review> findByPropertyIdAndStatus(String propertyId, Review.ReviewStatus status);
     List<Review> findByPropertyIdOrderByCreatedAtDesc(String propertyId);
+    Optional<Review> findFirstByPropertyIdAndStatusOrderByUpdatedAtDesc(String propertyId, Review.ReviewStatus status);
     
     // Find by reviewer
     List<Review> findByReviewerId(String reviewerId);
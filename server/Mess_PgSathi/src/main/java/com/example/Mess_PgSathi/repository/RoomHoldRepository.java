@@ -0,0 +1,9 @@
+package com.example.Mess_PgSathi.repository;
+
+import com.example.Mess_PgSathi.model.RoomHold;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RoomHoldRepository extends MongoRepository<RoomHold, String> {
+}
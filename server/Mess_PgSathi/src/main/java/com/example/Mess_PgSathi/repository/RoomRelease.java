@@ -0,0 +1,14 @@
+package com.example.Mess_PgSathi.repository;
+
+import com.example.Mess_PgSathi.model.Property;
+import lombok.Value;
+
+/**
+ * Result of giving a room back: the property after the change and, when
+ * someone was waiting, the waitlist entry the room was handed to.
+ */
+@Value
+public class RoomRelease {
+    Property property;
+    Property.WaitlistEntry promoted; // null when the room went back to availableRooms
+}
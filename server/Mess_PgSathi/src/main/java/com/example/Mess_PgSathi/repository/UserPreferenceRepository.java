@@ -4,6 +4,8 @@ import com.example.Mess_PgSathi.model.UserPreference;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,6 +14,7 @@ public interface UserPreferenceRepository extends MongoRepository<UserPreference
     // Find by user
     Optional<UserPreference> findByUserId(String userId);
     boolean existsByUserId(String userId);
+    List<UserPreference> findByUserIdIn(Collection<String> userIds);
     
     // Delete by user
     void deleteByUserId(String userId);
@@ -1,12 +1,16 @@
 package com.example.Mess_PgSathi.security;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.example.Mess_PgSathi.event.UserProfileChangedEvent;
 import com.example.Mess_PgSathi.model.User;
 import com.example.Mess_PgSathi.payload.request.SignupRequest;
+import com.example.Mess_PgSathi.payload.request.UpdateProfileRequest;
 import com.example.Mess_PgSathi.repository.UserRepository;
+import com.example.Mess_PgSathi.service.UserSnapshotService;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,6 +21,8 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserSnapshotService userSnapshotService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Check if email already exists
     public boolean emailExists(String email) {
@@ -52,12 +58,33 @@ public class UserService {
 
     // Delete user
     public void deleteUserById(String id) {
-        userRepository.deleteById(id);
+        userRepository.findById(id).ifPresent(user -> {
+            userRepository.deleteById(id);
+            userSnapshotService.evict(user);
+        });
     }
 
     // Update user details (profile update, etc.)
     public User updateUser(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userSnapshotService.evict(saved);
+        return saved;
+    }
+
+    // Update name and phone; the copies on bookings, inquiries etc. are refreshed in the background
+    public User updateProfile(String userId, UpdateProfileRequest request) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found!"));
+        String fullName = request.getFullName().trim();
+        boolean changed = !fullName.equals(user.getFullName()) || !request.getPhoneNumber().equals(user.getPhoneNumber());
+
+        user.setFullName(fullName);
+        user.setPhoneNumber(request.getPhoneNumber());
+        User saved = updateUser(user);
+        if (changed) {
+            eventPublisher.publishEvent(new UserProfileChangedEvent(saved.getId()));
+        }
+        return saved;
     }
 
     
@@ -59,4 +59,25 @@ public class EmailService {
             // Don't throw exception for welcome email failure
         }
     }
+
+    public void sendWaitlistPromotionEmail(String toEmail, String fullName, String propertyName) {
+        try {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(fromEmail);
+            message.setTo(toEmail);
+            message.setSubject("MessSathi - A room is now yours to book");
+            message.setText("Dear " + fullName + ",\n\n" +
+                    "Good news! A room has opened up at " + propertyName + " and you were next on its waitlist.\n\n" +
+                    "We have sent a booking request to the owner on your behalf and are holding the room for you " +
+                    "while they review it. You can follow its progress under My Bookings.\n\n" +
+                    "Best regards,\n" +
+                    "MessSathi Team");
+
+            mailSender.send(message);
+            System.out.println("Waitlist promotion email sent successfully to: " + toEmail);
+
+        } catch (Exception e) {
+            System.err.println("Failed to send waitlist promotion email: " + e.getMessage());
+        }
+    }
 }
\ No newline at end of file
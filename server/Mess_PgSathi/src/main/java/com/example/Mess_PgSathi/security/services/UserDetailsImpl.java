@@ -1,5 +1,6 @@
 package com.example.Mess_PgSathi.security.services;
 
+import com.example.Mess_PgSathi.cache.UserSnapshot;
 import com.example.Mess_PgSathi.model.User;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -35,6 +36,20 @@ public class UserDetailsImpl implements UserDetails {
         );
     }
 
+    /**
+     * Principal for a request authenticated by token: no password is needed
+     */
+    public static UserDetailsImpl build(UserSnapshot user) {
+        SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + user.getRole().name());
+        return new UserDetailsImpl(
+                user.getId(),
+                user.getEmail(),
+                null,
+                Collections.singletonList(authority),
+                user.isVerified()
+        );
+    }
+
     public String getId() {
         return id;
     }
@@ -8,6 +8,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.example.Mess_PgSathi.model.User;
 import com.example.Mess_PgSathi.repository.UserRepository;
+import com.example.Mess_PgSathi.service.UserSnapshotService;
 import com.example.Mess_PgSathi.security.services.UserDetailsImpl;
 
 
@@ -16,6 +17,9 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserSnapshotService userSnapshotService;
+
     @Override
     @Transactional
 public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
@@ -23,4 +27,14 @@ public UserDetails loadUserByUsername(String email) throws UsernameNotFoundExcep
         .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + email));
     return UserDetailsImpl.build(user);
 }
+
+/**
+ * Principal for a request carrying a valid token, resolved through the user
+ * snapshot cache. Login still goes through loadUserByUsername for the password hash.
+ */
+public UserDetailsImpl loadUserForToken(String email) throws UsernameNotFoundException {
+    return userSnapshotService.findByEmail(email)
+        .map(UserDetailsImpl::build)
+        .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + email));
+}
 }
@@ -0,0 +1,350 @@
+package com.example.Mess_PgSathi.service;
+
+import com.example.Mess_PgSathi.event.PropertyChangedEvent;
+import com.example.Mess_PgSathi.model.Property;
+import com.example.Mess_PgSathi.payload.response.SuggestionResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Typeahead for the location box. Distinct city, PIN code, landmark and college
+ * values of active properties live in an in-memory trie, ranked by how many
+ * listings carry them, so a keystroke never reaches MongoDB.
+ *
+ * Every value is indexed under each of its word starts ("salt lake" is found by
+ * "sa" and by "la"). Each trie node caches its best entries and the cache is
+ * dropped only along the paths of values whose counts change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AutocompleteService {
+
+    private static final int DEFAULT_SUGGESTIONS = 8;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int MAX_VALUE_LENGTH = 60;
+    private static final int MAX_WORD_STARTS = 5;
+
+    private final MongoTemplate mongoTemplate;
+
+    private volatile Dictionary dictionary = new Dictionary();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelay = 600000, fixedDelay = 600000) // Every 10 minutes
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Reload all suggestions from the active properties
+     */
+    public synchronized void rebuild() {
+        Query query = new Query(Criteria.where("status").is(Property.PropertyStatus.ACTIVE));
+        query.fields().include("city", "pinCode", "nearbyLandmarks", "collegeNearby");
+
+        Dictionary fresh = new Dictionary();
+        try (Stream<Property> properties = mongoTemplate.stream(query, Property.class)) {
+            properties.forEach(property -> fresh.replace(property.getId(), valuesOf(property)));
+        }
+        dictionary = fresh;
+        log.info("Autocomplete dictionary built: {} suggestions", fresh.size());
+    }
+
+    @EventListener
+    public synchronized void onPropertyChanged(PropertyChangedEvent event) {
+        if (!event.isContentChange()) {
+            return;
+        }
+        Property property = event.getProperty();
+        boolean listed = event.getType() != PropertyChangedEvent.ChangeType.DELETED
+                && property.getStatus() == Property.PropertyStatus.ACTIVE;
+        dictionary.replace(property.getId(), listed ? valuesOf(property) : List.of());
+    }
+
+    /**
+     * Suggestions whose words start with the typed prefix, most listed first
+     */
+    public List<SuggestionResponse> suggest(String prefix, Integer limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        int size = limit != null ? Math.max(1, Math.min(limit, MAX_SUGGESTIONS)) : DEFAULT_SUGGESTIONS;
+        return dictionary.lookup(key).stream()
+                .limit(size)
+                .map(entry -> new SuggestionResponse(entry.text, entry.type, entry.count))
+                .collect(Collectors.toList());
+    }
+
+    private static List<Value> valuesOf(Property property) {
+        Set<Value> values = new LinkedHashSet<>();
+        addValue(values, SuggestionResponse.Type.CITY, property.getCity());
+        addValue(values, SuggestionResponse.Type.PIN_CODE, property.getPinCode());
+        addValue(values, SuggestionResponse.Type.COLLEGE, property.getCollegeNearby());
+        if (property.getNearbyLandmarks() != null) {
+            // Landmarks are free text, usually a comma separated list
+            for (String landmark : property.getNearbyLandmarks().split("[,;\\n]")) {
+                addValue(values, SuggestionResponse.Type.LANDMARK, landmark);
+            }
+        }
+        return new ArrayList<>(values);
+    }
+
+    private static void addValue(Set<Value> values, SuggestionResponse.Type type, String text) {
+        if (!StringUtils.hasText(text)) {
+            return;
+        }
+        String trimmed = text.trim().replaceAll("\\s+", " ");
+        String key = normalize(trimmed);
+        if (key.length() >= 2 && trimmed.length() <= MAX_VALUE_LENGTH) {
+            values.add(new Value(type, key, trimmed));
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    /**
+     * One suggestion value contributed by a property; identity is type + key
+     */
+    private static final class Value {
+        final SuggestionResponse.Type type;
+        final String key;
+        final String text;
+
+        Value(SuggestionResponse.Type type, String key, String text) {
+            this.type = type;
+            this.key = key;
+            this.text = text;
+        }
+
+        String id() {
+            return type + ":" + key;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Value value && type == value.type && key.equals(value.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return id().hashCode();
+        }
+    }
+
+    private static final class Entry {
+        final SuggestionResponse.Type type;
+        final String key;
+        final String text;
+        int count;
+
+        Entry(Value value) {
+            this.type = value.type;
+            this.key = value.key;
+            this.text = value.text;
+        }
+    }
+
+    private static final Comparator<Entry> RANKING = Comparator.<Entry>comparingInt(entry -> -entry.count)
+            .thenComparingInt(entry -> entry.key.length())
+            .thenComparing(entry -> entry.key);
+
+    private static final class Node {
+        final Map<Character, Node> children = new HashMap<>();
+        final List<Entry> entries = new ArrayList<>(1);
+
+        // Best entries of this subtree; null once a count below it changed
+        volatile List<Entry> top;
+    }
+
+    private static final class Dictionary {
+        private final Node root = new Node();
+        private final Map<String, Entry> entries = new HashMap<>();
+        private final Map<String, List<Value>> valuesByProperty = new HashMap<>();
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        int size() {
+            return entries.size();
+        }
+
+        /**
+         * Swap the values a property contributes; an empty list removes it
+         */
+        void replace(String propertyId, List<Value> values) {
+            lock.writeLock().lock();
+            try {
+                List<Value> previous = valuesByProperty.remove(propertyId);
+                if (previous != null) {
+                    previous.forEach(this::decrement);
+                }
+                if (!values.isEmpty()) {
+                    valuesByProperty.put(propertyId, values);
+                    values.forEach(this::increment);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<Entry> lookup(String prefix) {
+            lock.readLock().lock();
+            try {
+                Node node = root;
+                for (int i = 0; i < prefix.length() && node != null; i++) {
+                    node = node.children.get(prefix.charAt(i));
+                }
+                return node != null ? top(node) : List.of();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void increment(Value value) {
+            Entry entry = entries.get(value.id());
+            if (entry == null) {
+                entry = new Entry(value);
+                entries.put(value.id(), entry);
+                for (String key : wordStarts(value.key)) {
+                    node(key, true).entries.add(entry);
+                }
+            }
+            entry.count++;
+            invalidate(entry);
+        }
+
+        private void decrement(Value value) {
+            Entry entry = entries.get(value.id());
+            if (entry == null) {
+                return;
+            }
+            entry.count--;
+            invalidate(entry);
+            if (entry.count <= 0) {
+                entries.remove(value.id());
+                for (String key : wordStarts(entry.key)) {
+                    Node node = node(key, false);
+                    if (node != null) {
+                        node.entries.remove(entry);
+                        prune(key);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Detach the nodes at the end of key's path that no longer lead to an
+         * entry, so edits between rebuilds do not leave dead branches for top()
+         */
+        private void prune(String key) {
+            List<Node> path = new ArrayList<>(key.length() + 1);
+            Node node = root;
+            path.add(node);
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+                path.add(node);
+            }
+            if (node == null) {
+                return;
+            }
+            for (int i = path.size() - 1; i > 0; i--) {
+                Node child = path.get(i);
+                if (!child.entries.isEmpty() || !child.children.isEmpty()) {
+                    break;
+                }
+                path.get(i - 1).children.remove(key.charAt(i - 1));
+            }
+        }
+
+        private void invalidate(Entry entry) {
+            for (String key : wordStarts(entry.key)) {
+                Node node = root;
+                node.top = null;
+                for (int i = 0; i < key.length() && node != null; i++) {
+                    node = node.children.get(key.charAt(i));
+                    if (node != null) {
+                        node.top = null;
+                    }
+                }
+            }
+        }
+
+        private Node node(String key, boolean create) {
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                Node child = node.children.get(key.charAt(i));
+                if (child == null) {
+                    if (!create) {
+                        return null;
+                    }
+                    child = new Node();
+                    node.children.put(key.charAt(i), child);
+                }
+                node = child;
+            }
+            return node;
+        }
+
+        /**
+         * The best entries of a subtree are among its own entries and the best
+         * entries of each child, so caches are rebuilt from the children only.
+         * Runs under the read lock; concurrent readers at worst compute the same list.
+         */
+        private List<Entry> top(Node node) {
+            List<Entry> cached = node.top;
+            if (cached != null) {
+                return cached;
+            }
+            Map<String, Entry> candidates = new LinkedHashMap<>();
+            node.entries.forEach(entry -> candidates.put(entry.type + ":" + entry.key, entry));
+            for (Node child : node.children.values()) {
+                top(child).forEach(entry -> candidates.put(entry.type + ":" + entry.key, entry));
+            }
+            List<Entry> best = candidates.values().stream()
+                    .sorted(RANKING)
+                    .limit(MAX_SUGGESTIONS)
+                    .collect(Collectors.toList());
+            node.top = best;
+            return best;
+        }
+
+        private static List<String> wordStarts(String key) {
+            List<String> starts = new ArrayList<>();
+            starts.add(key);
+            int from = 0;
+            while (starts.size() < MAX_WORD_STARTS && (from = key.indexOf(' ', from) + 1) > 0) {
+                starts.add(key.substring(from));
+            }
+            return starts;
+        }
+    }
+}
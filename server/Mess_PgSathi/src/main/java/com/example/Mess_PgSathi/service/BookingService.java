@@ -1,31 +1,70 @@
 package com.example.Mess_PgSathi.service;
 
+import com.example.Mess_PgSathi.cache.UserSnapshot;
 import com.example.Mess_PgSathi.model.*;
 import com.example.Mess_PgSathi.repository.*;
+import com.example.Mess_PgSathi.payload.response.BatchBookingActionResponse;
+import com.example.Mess_PgSathi.payload.response.CursorPageResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class BookingService {
 
+    private static final int DEFAULT_TIMELINE_EVENTS = 50;
+    private static final int MAX_TIMELINE_EVENTS = 200;
+    private static final int MAX_BATCH_BOOKINGS = 100;
+
+    private static final List<Booking.BookingStatus> OPEN_STATUSES = Arrays.asList(
+            Booking.BookingStatus.PENDING,
+            Booking.BookingStatus.OWNER_CONFIRMED,
+            Booking.BookingStatus.DOCS_SUBMITTED,
+            Booking.BookingStatus.DOCS_VERIFIED,
+            Booking.BookingStatus.PAYMENT_PENDING,
+            Booking.BookingStatus.ACTIVE
+    );
+
     private final BookingRepository bookingRepository;
     private final PropertyRepository propertyRepository;
-    private final UserRepository userRepository;
+    private final UserSnapshotService userSnapshotService;
     private final PaymentRepository paymentRepository;
+    private final RoomHoldService roomHoldService;
+    private final OccupancyCalendar occupancyCalendar;
+    private final BookingEventRepository bookingEventRepository;
+    private final MongoTemplate mongoTemplate;
 
     /**
      * Create a new booking request (Seeker action)
      */
     public Booking createBookingRequest(String seekerId, String propertyId, LocalDate checkInDate, int numberOfMonths) {
         // Verify seeker exists
-        User seeker = userRepository.findById(seekerId)
+        UserSnapshot seeker = userSnapshotService.findById(seekerId)
                 .orElseThrow(() -> new RuntimeException("Seeker not found!"));
         
         if (!seeker.getRole().equals(User.Role.ROOM_FINDER)) {
@@ -41,35 +80,72 @@ public class BookingService {
         }
 
         if (property.getAvailableRooms() <= 0) {
-            throw new RuntimeException("No rooms available in this property!");
+            throw new RuntimeException("No rooms available in this property, join its waitlist to get the next free room!");
         }
 
         // Check if seeker already has an active booking for this property
-        List<Booking.BookingStatus> activeStatuses = Arrays.asList(
-                Booking.BookingStatus.PENDING,
-                Booking.BookingStatus.OWNER_CONFIRMED,
-                Booking.BookingStatus.DOCS_SUBMITTED,
-                Booking.BookingStatus.DOCS_VERIFIED,
-                Booking.BookingStatus.PAYMENT_PENDING,
-                Booking.BookingStatus.ACTIVE
-        );
-        
-        if (bookingRepository.existsBySeekerIdAndPropertyIdAndStatusIn(seekerId, propertyId, activeStatuses)) {
+        if (hasOpenBooking(seekerId, propertyId)) {
             throw new RuntimeException("You already have an active booking for this property!");
         }
 
+        Booking saved = bookingRepository.save(newBooking(seeker, property, checkInDate, numberOfMonths));
+        recordEvent(saved, BookingTransition.REQUEST, null, seekerId, null);
+
+        // A seeker who got in directly no longer needs their place in the queue
+        propertyRepository.leaveWaitlist(propertyId, seekerId);
+        return saved;
+    }
+
+    /**
+     * Whether the seeker has a booking for the property that is still under way
+     */
+    public boolean hasOpenBooking(String seekerId, String propertyId) {
+        return bookingRepository.existsBySeekerIdAndPropertyIdAndStatusIn(seekerId, propertyId, OPEN_STATUSES);
+    }
+
+    /**
+     * Booking request for a seeker promoted from the waitlist. The room handed to
+     * them is held for the booking, so nobody else can take it while the owner
+     * reviews the request. If anything fails the room is passed on again.
+     */
+    public Booking createPromotedBooking(String propertyId, Property.WaitlistEntry entry) {
+        Booking saved;
+        try {
+            UserSnapshot seeker = userSnapshotService.findById(entry.getSeekerId())
+                    .orElseThrow(() -> new RuntimeException("Seeker not found!"));
+            Property property = propertyRepository.findById(propertyId)
+                    .orElseThrow(() -> new RuntimeException("Property not found!"));
+            if (hasOpenBooking(seeker.getId(), propertyId)) {
+                throw new RuntimeException("Seeker already has an active booking for this property!");
+            }
+
+            // The wait may have outlasted the date the seeker asked for
+            LocalDate checkInDate = entry.getCheckInDate() != null && !entry.getCheckInDate().isBefore(LocalDate.now())
+                    ? entry.getCheckInDate()
+                    : LocalDate.now();
+            saved = bookingRepository.save(newBooking(seeker, property, checkInDate, entry.getNumberOfMonths()));
+            roomHoldService.holdPromotedRoom(saved);
+        } catch (RuntimeException e) {
+            roomHoldService.releaseRoom(propertyId);
+            throw e;
+        }
+        recordEvent(saved, BookingTransition.REQUEST, null, entry.getSeekerId(), "Promoted from the waitlist");
+        return saved;
+    }
+
+    private Booking newBooking(UserSnapshot seeker, Property property, LocalDate checkInDate, int numberOfMonths) {
         // Get owner information
-        User owner = userRepository.findById(property.getOwnerId())
+        UserSnapshot owner = userSnapshotService.findById(property.getOwnerId())
                 .orElseThrow(() -> new RuntimeException("Property owner not found!"));
 
         // Create booking
         Booking booking = new Booking();
-        booking.setPropertyId(propertyId);
+        booking.setPropertyId(property.getId());
         booking.setPropertyName(property.getName());
         booking.setPropertyAddress(property.getAddress() + ", " + property.getCity());
         booking.setRoomType(property.getRoomType().name());
 
-        booking.setSeekerId(seekerId);
+        booking.setSeekerId(seeker.getId());
         booking.setSeekerName(seeker.getFullName());
         booking.setSeekerEmail(seeker.getEmail());
         booking.setSeekerPhone(seeker.getPhoneNumber());
@@ -88,54 +164,143 @@ public class BookingService {
         booking.setStatus(Booking.BookingStatus.PENDING);
         booking.setCreatedAt(LocalDateTime.now());
         booking.setUpdatedAt(LocalDateTime.now());
-
-        return bookingRepository.save(booking);
+        return booking;
     }
 
     /**
      * Owner confirms booking request
      */
     public Booking confirmBooking(String bookingId, String ownerId) {
-        Booking booking = getBookingAndVerifyOwner(bookingId, ownerId);
-        
-        if (booking.getStatus() != Booking.BookingStatus.PENDING) {
-            throw new RuntimeException("Booking is not in pending state!");
-        }
-
-        booking.setStatus(Booking.BookingStatus.OWNER_CONFIRMED);
-        booking.setOwnerConfirmedAt(LocalDateTime.now());
-        booking.setUpdatedAt(LocalDateTime.now());
-
-        return bookingRepository.save(booking);
+        return apply(bookingId, ownerId, BookingTransition.CONFIRM, null,
+                current -> new Update().set("ownerConfirmedAt", LocalDateTime.now())).booking();
     }
 
     /**
      * Owner rejects booking request
      */
     public Booking rejectBooking(String bookingId, String ownerId, String reason) {
-        Booking booking = getBookingAndVerifyOwner(bookingId, ownerId);
-        
-        if (booking.getStatus() != Booking.BookingStatus.PENDING) {
-            throw new RuntimeException("Booking is not in pending state!");
+        Booking rejected = apply(bookingId, ownerId, BookingTransition.REJECT, reason,
+                current -> new Update().set("ownerRejectionReason", reason)).booking();
+        afterOwnerReview(bookingId, BookingTransition.REJECT);
+        return rejected;
+    }
+
+    /**
+     * What follows an owner's answer to a request, for the single and batch paths alike
+     */
+    private void afterOwnerReview(String bookingId, BookingTransition transition) {
+        if (transition == BookingTransition.REJECT) {
+            // A request promoted from the waitlist holds a room; it goes to the next in line
+            roomHoldService.releaseHold(bookingId);
         }
+    }
 
-        booking.setStatus(Booking.BookingStatus.OWNER_REJECTED);
-        booking.setOwnerRejectionReason(reason);
-        booking.setUpdatedAt(LocalDateTime.now());
+    /**
+     * Confirm or reject many pending requests at once (Owner action). Ownership
+     * and status are checked on one $in read, the accepted bookings are moved in
+     * one unordered bulk write guarded on the status that was read, and each id
+     * gets its own result. Booking ids are handled once, in the order sent.
+     */
+    public BatchBookingActionResponse batchOwnerAction(String ownerId, List<String> bookingIds, String action, String reason) {
+        BookingTransition transition;
+        try {
+            transition = BookingTransition.valueOf(action.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            transition = null;
+        }
+        if (transition != BookingTransition.CONFIRM && transition != BookingTransition.REJECT) {
+            throw new RuntimeException("Action must be CONFIRM or REJECT!");
+        }
+        if (transition == BookingTransition.REJECT && (reason == null || reason.isBlank())) {
+            throw new RuntimeException("A reason is required to reject bookings!");
+        }
 
-        return bookingRepository.save(booking);
+        List<String> ids = bookingIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.size() > MAX_BATCH_BOOKINGS) {
+            throw new RuntimeException("At most " + MAX_BATCH_BOOKINGS + " bookings can be handled at once!");
+        }
+        Query requested = new Query(Criteria.where("_id").in(ids));
+        requested.fields().include("ownerId", "seekerId", "propertyId", "status");
+        Map<String, Booking> found = mongoTemplate.find(requested, Booking.class).stream()
+                .collect(Collectors.toMap(Booking::getId, booking -> booking));
+
+        // Same timestamp on every write, so the bookings this batch moved can be recognised afterwards
+        LocalDateTime now = LocalDateTime.now();
+        Update changes = transition == BookingTransition.CONFIRM
+                ? new Update().set("ownerConfirmedAt", now)
+                : new Update().set("ownerRejectionReason", reason);
+        changes.set("status", transition.getTo()).set("updatedAt", now).inc("version", 1);
+
+        Map<String, BatchBookingActionResponse.ItemResult> results = new LinkedHashMap<>();
+        List<Booking> accepted = new ArrayList<>();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Booking.class);
+        for (String id : ids) {
+            Booking booking = found.get(id);
+            if (booking == null) {
+                results.put(id, new BatchBookingActionResponse.ItemResult(id, false, null, "Booking not found!"));
+            } else if (!booking.getOwnerId().equals(ownerId)) {
+                results.put(id, new BatchBookingActionResponse.ItemResult(id, false, null,
+                        "You are not authorized to perform this action!"));
+            } else if (!transition.allowsFrom(booking.getStatus())) {
+                results.put(id, new BatchBookingActionResponse.ItemResult(id, false, booking.getStatus(),
+                        transition.getNotAllowedMessage()));
+            } else {
+                results.put(id, null);
+                accepted.add(booking);
+                bulk.updateOne(new Query(Criteria.where("_id").is(id).and("status").is(booking.getStatus())), changes);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            long modified;
+            try {
+                modified = bulk.execute().getModifiedCount();
+            } catch (BulkOperationException e) {
+                modified = e.getResult().getModifiedCount();
+            }
+            // A booking changed by someone else between the read and the write did not match
+            Set<String> moved = accepted.stream().map(Booking::getId).collect(Collectors.toSet());
+            if (modified < accepted.size()) {
+                Query ours = new Query(Criteria.where("_id").in(moved)
+                        .and("status").is(transition.getTo())
+                        .and("updatedAt").is(now));
+                ours.fields().include("_id");
+                moved = mongoTemplate.find(ours, Booking.class).stream().map(Booking::getId).collect(Collectors.toSet());
+            }
+
+            List<BookingEvent> events = new ArrayList<>();
+            for (Booking booking : accepted) {
+                if (moved.contains(booking.getId())) {
+                    results.put(booking.getId(), new BatchBookingActionResponse.ItemResult(booking.getId(), true,
+                            transition.getTo(), null));
+                    events.add(new BookingEvent(null, booking.getId(), booking.getPropertyId(), booking.getOwnerId(),
+                            booking.getSeekerId(), transition, booking.getStatus(), transition.getTo(), ownerId,
+                            transition == BookingTransition.REJECT ? reason : null, now));
+                } else {
+                    results.put(booking.getId(), new BatchBookingActionResponse.ItemResult(booking.getId(), false,
+                            null, "Booking was changed by someone else, please try again!"));
+                }
+            }
+            if (!events.isEmpty()) {
+                bookingEventRepository.insert(events);
+            }
+            for (BookingEvent event : events) {
+                afterOwnerReview(event.getBookingId(), transition);
+            }
+        }
+
+        BatchBookingActionResponse response = new BatchBookingActionResponse();
+        response.setAction(transition.name());
+        response.getResults().addAll(results.values());
+        response.setSucceeded((int) response.getResults().stream().filter(BatchBookingActionResponse.ItemResult::isSuccess).count());
+        response.setFailed(response.getResults().size() - response.getSucceeded());
+        return response;
     }
 
     /**
      * Seeker submits government documents
      */
     public Booking submitDocuments(String bookingId, String seekerId, List<Booking.DocumentInfo> documents) {
-        Booking booking = getBookingAndVerifySeeker(bookingId, seekerId);
-        
-        if (booking.getStatus() != Booking.BookingStatus.OWNER_CONFIRMED) {
-            throw new RuntimeException("Booking must be confirmed by owner before submitting documents!");
-        }
-
         if (documents == null || documents.isEmpty()) {
             throw new RuntimeException("Please submit at least one document!");
         }
@@ -143,52 +308,48 @@ public class BookingService {
         // Set upload timestamp for each document
         documents.forEach(doc -> doc.setUploadedAt(LocalDateTime.now()));
 
-        booking.setSubmittedDocuments(documents);
-        booking.setStatus(Booking.BookingStatus.DOCS_SUBMITTED);
-        booking.setUpdatedAt(LocalDateTime.now());
-
-        return bookingRepository.save(booking);
+        return apply(bookingId, seekerId, BookingTransition.SUBMIT_DOCUMENTS, null,
+                current -> new Update().set("submittedDocuments", documents)).booking();
     }
 
     /**
      * Owner verifies submitted documents
      */
     public Booking verifyDocuments(String bookingId, String ownerId, boolean approved, String note) {
-        Booking booking = getBookingAndVerifyOwner(bookingId, ownerId);
-        
-        if (booking.getStatus() != Booking.BookingStatus.DOCS_SUBMITTED) {
-            throw new RuntimeException("Documents not submitted yet!");
+        BookingTransition transition = approved ? BookingTransition.APPROVE_DOCUMENTS : BookingTransition.REJECT_DOCUMENTS;
+        Booking verified = apply(bookingId, ownerId, transition, note, current -> new Update()
+                .set("documentsVerified", approved)
+                .set("documentVerificationNote", note)
+                .set("documentsVerifiedAt", LocalDateTime.now())).booking();
+
+        if (!approved) {
+            roomHoldService.releaseHold(bookingId);
         }
-
-        if (approved) {
-            booking.setStatus(Booking.BookingStatus.DOCS_VERIFIED);
-            booking.setDocumentsVerified(true);
-        } else {
-            booking.setStatus(Booking.BookingStatus.DOCS_REJECTED);
-            booking.setDocumentsVerified(false);
-        }
-        
-        booking.setDocumentVerificationNote(note);
-        booking.setDocumentsVerifiedAt(LocalDateTime.now());
-        booking.setUpdatedAt(LocalDateTime.now());
-
-        return bookingRepository.save(booking);
+        return verified;
     }
 
     /**
-     * Owner requests payment after document verification
+     * Owner requests payment after document verification. A room is held for the
+     * seeker until the payment comes in or the hold expires.
      */
     public Booking requestPayment(String bookingId, String ownerId) {
-        Booking booking = getBookingAndVerifyOwner(bookingId, ownerId);
-        
-        if (booking.getStatus() != Booking.BookingStatus.DOCS_VERIFIED) {
-            throw new RuntimeException("Documents must be verified before requesting payment!");
+        Booking verified = getBookingAndVerifyOwner(bookingId, ownerId);
+
+        if (!BookingTransition.REQUEST_PAYMENT.allowsFrom(verified.getStatus())) {
+            throw new RuntimeException(BookingTransition.REQUEST_PAYMENT.getNotAllowedMessage());
         }
 
-        booking.setStatus(Booking.BookingStatus.PAYMENT_PENDING);
-        booking.setUpdatedAt(LocalDateTime.now());
+        roomHoldService.placeHold(verified);
+
+        Booking booking;
+        try {
+            booking = apply(bookingId, ownerId, BookingTransition.REQUEST_PAYMENT, null, current -> new Update()).booking();
+        } catch (RuntimeException e) {
+            roomHoldService.releaseHold(bookingId);
+            throw e;
+        }
 
-        // Create payment record for advance
+        // Create payment record for advance, once the booking has moved on (a retry must not create two)
         Payment advancePayment = new Payment();
         advancePayment.setBookingId(bookingId);
         advancePayment.setPropertyId(booking.getPropertyId());
@@ -207,111 +368,144 @@ public class BookingService {
 
         paymentRepository.save(advancePayment);
 
-        return bookingRepository.save(booking);
+        return booking;
     }
 
     /**
      * Confirm advance payment received (Owner action)
      */
     public Booking confirmAdvancePayment(String bookingId, String ownerId, String paymentMethod) {
-        Booking booking = getBookingAndVerifyOwner(bookingId, ownerId);
-        
-        if (booking.getStatus() != Booking.BookingStatus.PAYMENT_PENDING) {
-            throw new RuntimeException("Booking is not in payment pending state!");
-        }
+        Booking pending = getBookingAndVerifyOwner(bookingId, ownerId);
 
-        booking.setAdvancePaymentReceived(true);
-        booking.setAdvancePaymentReceivedAt(LocalDateTime.now());
-        booking.setPaymentMethod(paymentMethod);
-        booking.setStatus(Booking.BookingStatus.ACTIVE);
-        booking.setUpdatedAt(LocalDateTime.now());
+        if (!BookingTransition.CONFIRM_PAYMENT.allowsFrom(pending.getStatus())) {
+            throw new RuntimeException(BookingTransition.CONFIRM_PAYMENT.getNotAllowedMessage());
+        }
 
-        // Update payment record
-        List<Payment> payments = paymentRepository.findByBookingIdAndPaymentType(bookingId, Payment.PaymentType.ADVANCE_PAYMENT);
-        if (!payments.isEmpty()) {
-            Payment advancePayment = payments.get(0);
-            advancePayment.setStatus(Payment.PaymentStatus.COMPLETED);
-            advancePayment.setPaidAt(LocalDateTime.now());
-            advancePayment.setPaidDate(LocalDate.now());
-            advancePayment.setPaymentMethod(Payment.PaymentMethod.valueOf(paymentMethod));
-            advancePayment.setUpdatedAt(LocalDateTime.now());
-            paymentRepository.save(advancePayment);
+        // The held room becomes the booked one. If the hold lapsed, take a room
+        // again; the conditional update is what prevents overselling
+        String propertyId = pending.getPropertyId();
+        if (!roomHoldService.claimHold(bookingId)) {
+            roomHoldService.reserveRoom(propertyId);
         }
 
-        // Decrease available rooms in property
-        Property property = propertyRepository.findById(booking.getPropertyId()).orElse(null);
-        if (property != null && property.getAvailableRooms() > 0) {
-            property.setAvailableRooms(property.getAvailableRooms() - 1);
-            property.setUpdatedAt(LocalDateTime.now());
-            propertyRepository.save(property);
+        Booking saved;
+        try {
+            saved = apply(bookingId, ownerId, BookingTransition.CONFIRM_PAYMENT, paymentMethod, current -> new Update()
+                    .set("advancePaymentReceived", true)
+                    .set("advancePaymentReceivedAt", LocalDateTime.now())
+                    .set("paymentMethod", paymentMethod)).booking();
+        } catch (RuntimeException e) {
+            // The booking never became active, so the room goes back
+            roomHoldService.releaseRoom(propertyId);
+            throw e;
         }
+        occupancyCalendar.occupy(saved);
 
-        return bookingRepository.save(booking);
+        // Update payment record
+        OptimisticRetry.run(() -> {
+            List<Payment> payments = paymentRepository.findByBookingIdAndPaymentType(bookingId, Payment.PaymentType.ADVANCE_PAYMENT);
+            if (!payments.isEmpty()) {
+                Payment advancePayment = payments.get(0);
+                advancePayment.setStatus(Payment.PaymentStatus.COMPLETED);
+                advancePayment.setPaidAt(LocalDateTime.now());
+                advancePayment.setPaidDate(LocalDate.now());
+                advancePayment.setPaymentMethod(Payment.PaymentMethod.valueOf(paymentMethod));
+                advancePayment.setUpdatedAt(LocalDateTime.now());
+                paymentRepository.save(advancePayment);
+            }
+        });
+
+        return saved;
     }
 
     /**
      * Complete booking (Seeker moved out)
      */
     public Booking completeBooking(String bookingId, String ownerId, LocalDate checkOutDate) {
-        Booking booking = getBookingAndVerifyOwner(bookingId, ownerId);
-        
-        if (booking.getStatus() != Booking.BookingStatus.ACTIVE) {
-            throw new RuntimeException("Booking is not active!");
-        }
+        Booking saved = apply(bookingId, ownerId, BookingTransition.COMPLETE, null,
+                current -> new Update().set("checkOutDate", checkOutDate)).booking();
 
-        booking.setStatus(Booking.BookingStatus.COMPLETED);
-        booking.setCheckOutDate(checkOutDate);
-        booking.setUpdatedAt(LocalDateTime.now());
-
-        // Increase available rooms in property
-        Property property = propertyRepository.findById(booking.getPropertyId()).orElse(null);
-        if (property != null) {
-            property.setAvailableRooms(property.getAvailableRooms() + 1);
-            property.setUpdatedAt(LocalDateTime.now());
-            propertyRepository.save(property);
-        }
+        // Increase available rooms in property, and free the months the stay no longer uses
+        roomHoldService.releaseRoom(saved.getPropertyId());
+        occupancyCalendar.vacateAfter(saved, checkOutDate);
 
-        return bookingRepository.save(booking);
+        return saved;
     }
 
     /**
      * Cancel booking
      */
     public Booking cancelBooking(String bookingId, String userId, String reason) {
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new RuntimeException("Booking not found!"));
-        
-        String cancelledBy;
-        if (booking.getSeekerId().equals(userId)) {
-            cancelledBy = "SEEKER";
-        } else if (booking.getOwnerId().equals(userId)) {
-            cancelledBy = "OWNER";
+        Applied cancelled = apply(bookingId, userId, BookingTransition.CANCEL, reason, current -> new Update()
+                .set("cancellationReason", reason)
+                .set("cancelledBy", current.getSeekerId().equals(userId) ? "SEEKER" : "OWNER")
+                .set("cancelledAt", LocalDateTime.now()));
+        Booking saved = cancelled.booking();
+
+        // An active booking occupies a room; a payment pending or waitlist promoted one may hold one
+        if (cancelled.from() == Booking.BookingStatus.ACTIVE) {
+            roomHoldService.releaseRoom(saved.getPropertyId());
+            occupancyCalendar.vacateAfter(saved, LocalDate.now());
         } else {
-            throw new RuntimeException("You are not authorized to cancel this booking!");
+            roomHoldService.releaseHold(bookingId);
         }
 
-        // Can't cancel completed bookings
-        if (booking.getStatus() == Booking.BookingStatus.COMPLETED) {
-            throw new RuntimeException("Cannot cancel a completed booking!");
+        return saved;
+    }
+
+    /**
+     * Owner's booking activity across all properties, newest first. Pages on
+     * (at, id): a batch action writes many events with the same "at", so the
+     * time alone cannot say where a page ended. Pass nextCursor back as cursor.
+     */
+    public CursorPageResponse<BookingEvent> getOwnerTimeline(String ownerId, String cursor, Integer limit) {
+        int size = limit != null ? Math.max(1, Math.min(limit, MAX_TIMELINE_EVENTS)) : DEFAULT_TIMELINE_EVENTS;
+        Criteria criteria = Criteria.where("ownerId").is(ownerId);
+        if (cursor != null && !cursor.isBlank()) {
+            String[] after = decodeTimelineCursor(cursor);
+            LocalDateTime at = LocalDateTime.parse(after[0]);
+            criteria.orOperator(
+                    Criteria.where("at").lt(at),
+                    Criteria.where("at").is(at).and("id").lt(after[1]));
         }
+        // One extra row tells whether another page exists
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "at", "id"))
+                .limit(size + 1);
+        List<BookingEvent> events = mongoTemplate.find(query, BookingEvent.class);
+
+        String nextCursor = null;
+        if (events.size() > size) {
+            events = events.subList(0, size);
+            BookingEvent last = events.get(size - 1);
+            nextCursor = encodeTimelineCursor(last.getAt(), last.getId());
+        }
+        return new CursorPageResponse<>(events, events.size(), nextCursor, null);
+    }
 
-        booking.setStatus(Booking.BookingStatus.CANCELLED);
-        booking.setCancellationReason(reason);
-        booking.setCancelledBy(cancelledBy);
-        booking.setCancelledAt(LocalDateTime.now());
-        booking.setUpdatedAt(LocalDateTime.now());
+    static String encodeTimelineCursor(LocalDateTime at, String id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((at + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
 
-        // If booking was active, increase available rooms
-        if (booking.getStatus() == Booking.BookingStatus.ACTIVE) {
-            Property property = propertyRepository.findById(booking.getPropertyId()).orElse(null);
-            if (property != null) {
-                property.setAvailableRooms(property.getAvailableRooms() + 1);
-                property.setUpdatedAt(LocalDateTime.now());
-                propertyRepository.save(property);
+    static String[] decodeTimelineCursor(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+            LocalDateTime.parse(parts[0]);
+            if (parts.length != 2 || parts[1].isEmpty()) {
+                throw new IllegalArgumentException("missing id");
             }
+            return parts;
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid timeline cursor!");
         }
+    }
 
-        return bookingRepository.save(booking);
+    /**
+     * Every transition of one booking, oldest first (seeker or owner of the booking)
+     */
+    public List<BookingEvent> getBookingHistory(String bookingId, String userId) {
+        getBookingAndVerifyActor(bookingId, userId, BookingTransition.Actor.EITHER);
+        return bookingEventRepository.findByBookingIdOrderByAtAsc(bookingId);
     }
 
     /**
@@ -359,6 +553,60 @@ public class BookingService {
     }
 
     // Helper methods
+
+    /**
+     * Move a booking along the transition table. The booking is read and the actor
+     * and start status checked, then the change is written with one findAndModify
+     * that only matches while the status is still the one read. Losing that race
+     * re-reads and checks again. Every applied transition is appended to
+     * booking_events.
+     */
+    private Applied apply(String bookingId, String actorId, BookingTransition transition, String note,
+                          Function<Booking, Update> changes) {
+        return OptimisticRetry.run(() -> {
+            Booking current = getBookingAndVerifyActor(bookingId, actorId, transition.getActor());
+            if (!transition.allowsFrom(current.getStatus())) {
+                throw new RuntimeException(transition.getNotAllowedMessage());
+            }
+
+            Update update = changes.apply(current)
+                    .set("status", transition.getTo())
+                    .set("updatedAt", LocalDateTime.now())
+                    .inc("version", 1);
+            Query expected = new Query(Criteria.where("_id").is(bookingId).and("status").is(current.getStatus()));
+            Booking updated = mongoTemplate.findAndModify(expected, update,
+                    FindAndModifyOptions.options().returnNew(true), Booking.class);
+            if (updated == null) {
+                throw new OptimisticLockingFailureException("Booking " + bookingId + " changed status");
+            }
+
+            recordEvent(updated, transition, current.getStatus(), actorId, note);
+            return new Applied(updated, current.getStatus());
+        });
+    }
+
+    private void recordEvent(Booking booking, BookingTransition transition, Booking.BookingStatus from,
+                             String actorId, String note) {
+        bookingEventRepository.save(new BookingEvent(null, booking.getId(), booking.getPropertyId(),
+                booking.getOwnerId(), booking.getSeekerId(), transition, from, booking.getStatus(),
+                actorId, note, LocalDateTime.now()));
+    }
+
+    private Booking getBookingAndVerifyActor(String bookingId, String userId, BookingTransition.Actor actor) {
+        return switch (actor) {
+            case OWNER -> getBookingAndVerifyOwner(bookingId, userId);
+            case SEEKER -> getBookingAndVerifySeeker(bookingId, userId);
+            case EITHER -> {
+                Booking booking = bookingRepository.findById(bookingId)
+                        .orElseThrow(() -> new RuntimeException("Booking not found!"));
+                if (!booking.getSeekerId().equals(userId) && !booking.getOwnerId().equals(userId)) {
+                    throw new RuntimeException("You are not authorized to perform this action!");
+                }
+                yield booking;
+            }
+        };
+    }
+
     private Booking getBookingAndVerifyOwner(String bookingId, String ownerId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found!"));
@@ -389,6 +637,10 @@ public class BookingService {
         return new BookingStatistics(total, pending, active, completed);
     }
 
+    // A transition as applied, with the status it started from
+    private record Applied(Booking booking, Booking.BookingStatus from) {
+    }
+
     public static class BookingStatistics {
         public final long totalBookings;
         public final long pendingBookings;
@@ -1,11 +1,10 @@
 package com.example.Mess_PgSathi.service;
 
+import com.example.Mess_PgSathi.cache.UserSnapshot;
 import com.example.Mess_PgSathi.model.Favorite;
 import com.example.Mess_PgSathi.model.Property;
-import com.example.Mess_PgSathi.model.User;
 import com.example.Mess_PgSathi.repository.FavoriteRepository;
 import com.example.Mess_PgSathi.repository.PropertyRepository;
-import com.example.Mess_PgSathi.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -19,14 +18,14 @@ public class FavoriteService {
 
     private final FavoriteRepository favoriteRepository;
     private final PropertyRepository propertyRepository;
-    private final UserRepository userRepository;
+    private final UserSnapshotService userSnapshotService;
 
     /**
      * Add property to favorites
      */
     public Favorite addToFavorites(String userId, String propertyId, String personalNote) {
         // Verify user exists
-        User user = userRepository.findById(userId)
+        UserSnapshot user = userSnapshotService.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found!"));
 
         // Verify property exists
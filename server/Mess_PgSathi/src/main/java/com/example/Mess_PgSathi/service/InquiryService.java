@@ -1,12 +1,17 @@
 package com.example.Mess_PgSathi.service;
 
+import com.example.Mess_PgSathi.cache.UserSnapshot;
 import com.example.Mess_PgSathi.model.Inquiry;
 import com.example.Mess_PgSathi.model.Property;
 import com.example.Mess_PgSathi.model.User;
 import com.example.Mess_PgSathi.repository.InquiryRepository;
 import com.example.Mess_PgSathi.repository.PropertyRepository;
-import com.example.Mess_PgSathi.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -18,14 +23,15 @@ public class InquiryService {
 
     private final InquiryRepository inquiryRepository;
     private final PropertyRepository propertyRepository;
-    private final UserRepository userRepository;
+    private final UserSnapshotService userSnapshotService;
+    private final MongoTemplate mongoTemplate;
 
     /**
      * Send inquiry to property owner
      */
     public Inquiry sendInquiry(String seekerId, String propertyId, String subject, String message, Inquiry.InquiryType inquiryType) {
         // Verify seeker exists
-        User seeker = userRepository.findById(seekerId)
+        UserSnapshot seeker = userSnapshotService.findById(seekerId)
                 .orElseThrow(() -> new RuntimeException("User not found!"));
 
         // Verify property exists
@@ -33,7 +39,7 @@ public class InquiryService {
                 .orElseThrow(() -> new RuntimeException("Property not found!"));
 
         // Get owner
-        User owner = userRepository.findById(property.getOwnerId())
+        UserSnapshot owner = userSnapshotService.findById(property.getOwnerId())
                 .orElseThrow(() -> new RuntimeException("Property owner not found!"));
 
         Inquiry inquiry = new Inquiry();
@@ -76,7 +82,7 @@ public class InquiryService {
         Inquiry inquiry = inquiryRepository.findById(inquiryId)
                 .orElseThrow(() -> new RuntimeException("Inquiry not found!"));
 
-        User user = userRepository.findById(userId)
+        UserSnapshot user = userSnapshotService.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found!"));
 
         String senderRole;
@@ -84,11 +90,6 @@ public class InquiryService {
             senderRole = "SEEKER";
         } else if (inquiry.getOwnerId().equals(userId)) {
             senderRole = "OWNER";
-            // Update status to responded if owner is replying
-            if (inquiry.getStatus() == Inquiry.InquiryStatus.PENDING) {
-                inquiry.setStatus(Inquiry.InquiryStatus.RESPONDED);
-                inquiry.setRespondedAt(LocalDateTime.now());
-            }
         } else {
             throw new RuntimeException("You are not part of this inquiry!");
         }
@@ -99,11 +100,27 @@ public class InquiryService {
         newMessage.setSenderRole(senderRole);
         newMessage.setMessage(message);
         newMessage.setSentAt(LocalDateTime.now());
-        
-        inquiry.getMessages().add(newMessage);
-        inquiry.setUpdatedAt(LocalDateTime.now());
 
-        return inquiryRepository.save(inquiry);
+        // $push appends to the thread in place, so concurrent replies cannot overwrite each other
+        Update update = new Update()
+                .push("messages", newMessage)
+                .set("updatedAt", LocalDateTime.now())
+                .inc("version", 1);
+        Inquiry updated = modify(byId(inquiryId), update);
+
+        // Update status to responded if owner is replying
+        if ("OWNER".equals(senderRole) && updated.getStatus() == Inquiry.InquiryStatus.PENDING) {
+            Query stillPending = byId(inquiryId).addCriteria(Criteria.where("status").is(Inquiry.InquiryStatus.PENDING));
+            Inquiry responded = mongoTemplate.findAndModify(stillPending, new Update()
+                            .set("status", Inquiry.InquiryStatus.RESPONDED)
+                            .set("respondedAt", LocalDateTime.now())
+                            .inc("version", 1),
+                    FindAndModifyOptions.options().returnNew(true), Inquiry.class);
+            if (responded != null) {
+                updated = responded;
+            }
+        }
+        return updated;
     }
 
     /**
@@ -117,28 +134,23 @@ public class InquiryService {
             throw new RuntimeException("You are not authorized to close this inquiry!");
         }
 
-        inquiry.setStatus(Inquiry.InquiryStatus.CLOSED);
-        inquiry.setUpdatedAt(LocalDateTime.now());
-
-        return inquiryRepository.save(inquiry);
+        return modify(byId(inquiryId), new Update()
+                .set("status", Inquiry.InquiryStatus.CLOSED)
+                .set("updatedAt", LocalDateTime.now())
+                .inc("version", 1));
     }
 
     /**
      * Mark messages as read
      */
     public Inquiry markAsRead(String inquiryId, String userId) {
-        Inquiry inquiry = inquiryRepository.findById(inquiryId)
-                .orElseThrow(() -> new RuntimeException("Inquiry not found!"));
-
-        // Mark all messages from other party as read
-        inquiry.getMessages().forEach(msg -> {
-            if (!msg.getSenderId().equals(userId)) {
-                msg.setRead(true);
-            }
-        });
-
-        inquiry.setUpdatedAt(LocalDateTime.now());
-        return inquiryRepository.save(inquiry);
+        // Mark all messages from other party as read, leaving the rest of the thread untouched
+        Update update = new Update()
+                .set("messages.$[other].read", true)
+                .filterArray(Criteria.where("other.senderId").ne(userId))
+                .set("updatedAt", LocalDateTime.now())
+                .inc("version", 1);
+        return modify(byId(inquiryId), update);
     }
 
     /**
@@ -184,7 +196,7 @@ public class InquiryService {
         List<Inquiry> userInquiries;
         
         // Check if user is owner or seeker
-        User user = userRepository.findById(userId).orElse(null);
+        UserSnapshot user = userSnapshotService.findById(userId).orElse(null);
         if (user == null) return 0;
 
         if (user.getRole() == User.Role.PG_OWNER) {
@@ -198,4 +210,17 @@ public class InquiryService {
                 .filter(msg -> !msg.getSenderId().equals(userId) && !msg.isRead())
                 .count();
     }
+
+    // Helper methods
+    private static Query byId(String inquiryId) {
+        return new Query(Criteria.where("id").is(inquiryId));
+    }
+
+    private Inquiry modify(Query query, Update update) {
+        Inquiry inquiry = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Inquiry.class);
+        if (inquiry == null) {
+            throw new RuntimeException("Inquiry not found!");
+        }
+        return inquiry;
+    }
 }
@@ -0,0 +1,51 @@
+package com.example.Mess_PgSathi.service;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a load-modify-save block when its save loses an optimistic locking
+ * race (another request saved the same document first). Every attempt reloads
+ * the document, so the change is applied on top of the winning write instead
+ * of overwriting it. Waits grow exponentially, with jitter, between attempts.
+ */
+final class OptimisticRetry {
+
+    private static final int MAX_ATTEMPTS = 4;
+    private static final long BASE_BACKOFF_MS = 10;
+
+    private OptimisticRetry() {
+    }
+
+    static <T> T run(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    throw new RuntimeException("This record is being changed by someone else, please try again!");
+                }
+                backoff(attempt);
+            }
+        }
+    }
+
+    static void run(Runnable action) {
+        run(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private static void backoff(int attempt) {
+        long delay = BASE_BACKOFF_MS << (attempt - 1);
+        try {
+            Thread.sleep(delay + ThreadLocalRandom.current().nextLong(delay));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while retrying an update!");
+        }
+    }
+}
@@ -67,26 +67,28 @@ public class PaymentService {
      * Record payment received
      */
     public Payment recordPayment(String paymentId, String ownerId, Payment.PaymentMethod paymentMethod, String transactionId) {
-        Payment payment = paymentRepository.findById(paymentId)
-                .orElseThrow(() -> new RuntimeException("Payment not found!"));
+        return OptimisticRetry.run(() -> {
+            Payment payment = paymentRepository.findById(paymentId)
+                    .orElseThrow(() -> new RuntimeException("Payment not found!"));
 
-        if (!payment.getOwnerId().equals(ownerId)) {
-            throw new RuntimeException("You are not authorized to record this payment!");
-        }
+            if (!payment.getOwnerId().equals(ownerId)) {
+                throw new RuntimeException("You are not authorized to record this payment!");
+            }
 
-        if (payment.getStatus() == Payment.PaymentStatus.COMPLETED) {
-            throw new RuntimeException("Payment already completed!");
-        }
+            if (payment.getStatus() == Payment.PaymentStatus.COMPLETED) {
+                throw new RuntimeException("Payment already completed!");
+            }
 
-        payment.setPaidDate(LocalDate.now());
-        payment.calculateLateCharges(); // Calculate late fees if any
-        payment.setPaymentMethod(paymentMethod);
-        payment.setTransactionId(transactionId);
-        payment.setStatus(Payment.PaymentStatus.COMPLETED);
-        payment.setPaidAt(LocalDateTime.now());
-        payment.setUpdatedAt(LocalDateTime.now());
+            payment.setPaidDate(LocalDate.now());
+            payment.calculateLateCharges(); // Calculate late fees if any
+            payment.setPaymentMethod(paymentMethod);
+            payment.setTransactionId(transactionId);
+            payment.setStatus(Payment.PaymentStatus.COMPLETED);
+            payment.setPaidAt(LocalDateTime.now());
+            payment.setUpdatedAt(LocalDateTime.now());
 
-        return paymentRepository.save(payment);
+            return paymentRepository.save(payment);
+        });
     }
 
     /**
@@ -198,12 +200,19 @@ public class PaymentService {
                 LocalDate.now()
         );
 
-        for (Payment payment : overduePayments) {
-            payment.setPaidDate(LocalDate.now()); // Temporary for calculation
-            payment.calculateLateCharges();
-            payment.setPaidDate(null); // Reset
-            payment.setUpdatedAt(LocalDateTime.now());
-            paymentRepository.save(payment);
+        for (Payment overdue : overduePayments) {
+            OptimisticRetry.run(() -> {
+                // Reloaded so a payment recorded meanwhile is not overwritten
+                Payment payment = paymentRepository.findById(overdue.getId()).orElse(null);
+                if (payment == null || payment.getStatus() != Payment.PaymentStatus.PENDING) {
+                    return;
+                }
+                payment.setPaidDate(LocalDate.now()); // Temporary for calculation
+                payment.calculateLateCharges();
+                payment.setPaidDate(null); // Reset
+                payment.setUpdatedAt(LocalDateTime.now());
+                paymentRepository.save(payment);
+            });
         }
     }
 
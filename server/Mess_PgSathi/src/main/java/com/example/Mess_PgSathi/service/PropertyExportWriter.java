@@ -0,0 +1,64 @@
+package com.example.Mess_PgSathi.service;
+
+import com.example.Mess_PgSathi.model.Property;
+import com.example.Mess_PgSathi.payload.response.PropertyCardResponse;
+import com.example.Mess_PgSathi.payload.response.PropertyResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes properties read from a MongoDB cursor as NDJSON, one PropertyResponse
+ * (owner exports) or PropertyCardResponse (public exports) per line. Only the
+ * current document is held in memory, and a slow client blocks the write,
+ * which in turn stops the cursor from fetching further.
+ */
+@Component
+@RequiredArgsConstructor
+public class PropertyExportWriter {
+
+    public static final String CONTENT_TYPE = "application/x-ndjson";
+
+    private static final int FLUSH_EVERY = 100;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Write every property in the stream in full and close it. Returns the number written.
+     */
+    public long write(Stream<Property> properties, OutputStream out) throws IOException {
+        return write(properties, PropertyResponse.class, PropertyResponse::fromProperty, out);
+    }
+
+    /**
+     * Write every property in the stream as a card and close it. Returns the number written.
+     */
+    public long writeCards(Stream<Property> properties, OutputStream out) throws IOException {
+        return write(properties, PropertyCardResponse.class, PropertyCardResponse::fromProperty, out);
+    }
+
+    private <T> long write(Stream<Property> properties, Class<T> type, Function<Property, T> row,
+                           OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(type);
+        long written = 0;
+        try (properties) {
+            Iterator<Property> iterator = properties.iterator();
+            while (iterator.hasNext()) {
+                out.write(writer.writeValueAsBytes(row.apply(iterator.next())));
+                out.write('\n');
+                if (++written % FLUSH_EVERY == 0) {
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+        return written;
+    }
+}
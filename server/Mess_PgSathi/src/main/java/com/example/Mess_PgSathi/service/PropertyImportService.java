@@ -0,0 +1,307 @@
+package com.example.Mess_PgSathi.service;
+
+import com.example.Mess_PgSathi.cache.UserSnapshot;
+import com.example.Mess_PgSathi.event.PropertyChangedEvent;
+import com.example.Mess_PgSathi.model.Property;
+import com.example.Mess_PgSathi.payload.request.AddPropertyRequest;
+import com.example.Mess_PgSathi.payload.response.PropertyImportResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk onboarding for owners with many properties. The upload is read row by
+ * row (NDJSON, or CSV with a header row naming AddPropertyRequest fields), the
+ * owner is checked once, and valid rows are written in unordered bulk inserts of
+ * BATCH_SIZE. A bad row is reported with its row number and never stops the rest.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PropertyImportService {
+
+    private static final int MAX_ROWS = 500;
+    private static final int BATCH_SIZE = 100;
+
+    // CSV cells holding a list (imageUrls) separate the values with this
+    private static final String LIST_SEPARATOR = "\\|";
+
+    private static final Set<String> CSV_COLUMNS = Arrays.stream(AddPropertyRequest.class.getDeclaredFields())
+            .map(Field::getName)
+            .collect(Collectors.toSet());
+
+    private final PropertyService propertyService;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public enum Format {
+        NDJSON,
+        CSV;
+
+        /**
+         * Explicit format parameter first, then the request content type
+         */
+        public static Format resolve(String format, String contentType) {
+            if (format != null && !format.isBlank()) {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            }
+            return contentType != null && contentType.toLowerCase(Locale.ROOT).contains("csv") ? CSV : NDJSON;
+        }
+    }
+
+    public PropertyImportResponse importProperties(InputStream body, Format format, String ownerId) throws IOException {
+        ImportRun run = new ImportRun(propertyService.verifyOwner(ownerId));
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            readCsv(reader, run);
+        } else {
+            readNdjson(reader, run);
+        }
+        run.flush();
+
+        PropertyImportResponse response = run.response;
+        response.getErrors().sort(Comparator.comparingInt(PropertyImportResponse.RowError::getRow));
+        response.setFailed(response.getErrors().size());
+        log.info("Imported {} of {} properties for owner {}", response.getImported(), response.getTotalRows(), ownerId);
+        return response;
+    }
+
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        String line;
+        while (run.hasRoom() && (line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String json = line;
+            run.row(() -> objectMapper.readValue(json, AddPropertyRequest.class));
+        }
+        while (!run.hasRoom() && (line = reader.readLine()) != null) {
+            if (!line.isBlank()) {
+                run.truncated();
+                break;
+            }
+        }
+    }
+
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException {
+        List<String> header = readCsvRecord(reader);
+        if (header == null) {
+            throw new RuntimeException("CSV file is empty!");
+        }
+        List<String> columns = new ArrayList<>();
+        for (String column : header) {
+            String name = column.replace("\uFEFF", "").trim();
+            if (!CSV_COLUMNS.contains(name)) {
+                throw new RuntimeException("Unknown CSV column: " + name + "!");
+            }
+            columns.add(name);
+        }
+
+        List<String> record;
+        while (run.hasRoom() && (record = readCsvRecord(reader)) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            List<String> cells = record;
+            run.row(() -> fromCsv(columns, cells));
+        }
+        while (!run.hasRoom() && (record = readCsvRecord(reader)) != null) {
+            if (!(record.size() == 1 && record.get(0).isBlank())) {
+                run.truncated();
+                break;
+            }
+        }
+    }
+
+    private AddPropertyRequest fromCsv(List<String> columns, List<String> cells) {
+        if (cells.size() > columns.size()) {
+            throw new RuntimeException("Row has " + cells.size() + " cells but the header has " + columns.size() + " columns!");
+        }
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < cells.size(); i++) {
+            String cell = cells.get(i).trim();
+            if (cell.isEmpty()) {
+                continue;
+            }
+            values.put(columns.get(i), columns.get(i).equals("imageUrls")
+                    ? Arrays.stream(cell.split(LIST_SEPARATOR)).map(String::trim).filter(url -> !url.isEmpty()).toList()
+                    : cell);
+        }
+        // Jackson coerces the text cells to the numeric and boolean fields
+        return objectMapper.convertValue(values, AddPropertyRequest.class);
+    }
+
+    /**
+     * One RFC 4180 record: comma separated, double quotes around cells that hold
+     * commas, quotes ("") or line breaks. Returns null at end of input.
+     */
+    static List<String> readCsvRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        cell.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        cell.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    cells.add(cell.toString());
+                    cell.setLength(0);
+                } else {
+                    cell.append(c);
+                }
+            }
+            if (!quoted) {
+                break;
+            }
+            // A quoted cell continues on the next line
+            line = reader.readLine();
+            if (line == null) {
+                throw new RuntimeException("CSV ends inside a quoted cell!");
+            }
+            cell.append('\n');
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    private static String messageOf(Exception e) {
+        if (e instanceof JsonProcessingException json) {
+            return json.getOriginalMessage();
+        }
+        if (e.getCause() instanceof JsonProcessingException json) {
+            return json.getOriginalMessage();
+        }
+        return e.getMessage();
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+        AddPropertyRequest parse() throws Exception;
+    }
+
+    /**
+     * State of one import: the verified owner, the pending batch and the report
+     */
+    private final class ImportRun {
+        private final UserSnapshot owner;
+        private final PropertyImportResponse response = new PropertyImportResponse();
+        private final List<Property> batch = new ArrayList<>(BATCH_SIZE);
+        private final List<Integer> batchRows = new ArrayList<>(BATCH_SIZE);
+
+        ImportRun(UserSnapshot owner) {
+            this.owner = owner;
+        }
+
+        boolean hasRoom() {
+            return response.getTotalRows() < MAX_ROWS;
+        }
+
+        void truncated() {
+            fail(response.getTotalRows() + 1, "Import is limited to " + MAX_ROWS + " rows, the remaining rows were not read!");
+        }
+
+        void row(RowParser parser) {
+            int row = response.getTotalRows() + 1;
+            response.setTotalRows(row);
+            try {
+                AddPropertyRequest request = parser.parse();
+                Set<ConstraintViolation<AddPropertyRequest>> violations = validator.validate(request);
+                if (!violations.isEmpty()) {
+                    fail(row, violations.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+                    return;
+                }
+                Property property = propertyService.newProperty(request, owner);
+                // Assigned here because bulk inserts do not write generated ids back
+                property.setId(new ObjectId().toHexString());
+                // Likewise the version, or a later save would take the property for a new one
+                property.setVersion(0L);
+                batch.add(property);
+                batchRows.add(row);
+            } catch (Exception e) {
+                fail(row, messageOf(e));
+                return;
+            }
+            if (batch.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            Set<Integer> failedIndexes = new HashSet<>();
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Property.class)
+                        .insert(batch)
+                        .execute();
+            } catch (BulkOperationException e) {
+                for (BulkWriteError error : e.getErrors()) {
+                    failedIndexes.add(error.getIndex());
+                    fail(batchRows.get(error.getIndex()), error.getMessage());
+                }
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                if (failedIndexes.contains(i)) {
+                    continue;
+                }
+                Property property = batch.get(i);
+                response.setImported(response.getImported() + 1);
+                response.getPropertyIds().add(property.getId());
+                eventPublisher.publishEvent(new PropertyChangedEvent(property, PropertyChangedEvent.ChangeType.CREATED));
+            }
+            batch.clear();
+            batchRows.clear();
+        }
+
+        private void fail(int row, String message) {
+            response.getErrors().add(new PropertyImportResponse.RowError(row, message));
+        }
+    }
+}
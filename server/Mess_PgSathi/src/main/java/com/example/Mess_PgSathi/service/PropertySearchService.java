@@ -0,0 +1,323 @@
+package com.example.Mess_PgSathi.service;
+
+import com.example.Mess_PgSathi.cache.BoundedCache;
+import com.example.Mess_PgSathi.cache.CachedSearchResult;
+import com.example.Mess_PgSathi.event.PropertyChangedEvent;
+import com.example.Mess_PgSathi.model.Property;
+import com.example.Mess_PgSathi.payload.request.PropertySearchCursor;
+import com.example.Mess_PgSathi.payload.request.PropertySearchRequest;
+import com.example.Mess_PgSathi.payload.response.CursorPageResponse;
+import com.example.Mess_PgSathi.payload.response.PropertyCardResponse;
+import com.example.Mess_PgSathi.payload.response.PropertyFacetResponse;
+import com.example.Mess_PgSathi.payload.response.PropertyResponse;
+import com.example.Mess_PgSathi.repository.PropertyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class PropertySearchService {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int MAX_COUNTED_TOTAL = 1000;
+    private static final int MAX_EXPORT_ROWS = 1000;
+    private static final double DEFAULT_RADIUS_KM = 5.0;
+    private static final double MAX_RADIUS_KM = 50.0;
+    private static final double EARTH_RADIUS_KM = 6378.1;
+    private static final int MAX_KEYWORD_LENGTH = 100;
+    private static final int MAX_STAY_MONTHS = 36;
+
+    private final PropertyRepository propertyRepository;
+    private final BoundedCache<String, CachedSearchResult> searchResultCache;
+    private final BoundedCache<String, PropertyResponse> propertyDetailCache;
+    private final PropertyExportWriter propertyExportWriter;
+
+    // Bumped on every listing write to a property in the city; part of every cache key for that city
+    private final Map<String, AtomicLong> cityVersions = new ConcurrentHashMap<>();
+
+    // Bumped when a rating in the city is recalculated; part of the keys of rating-sorted pages only
+    private final Map<String, AtomicLong> cityRatingVersions = new ConcurrentHashMap<>();
+
+    /**
+     * Search properties with filters (public method)
+     * All filters are evaluated by MongoDB against the compound indexes on properties;
+     * a keyword switches to the text index and orders results by relevance
+     */
+    public List<PropertyCardResponse> searchProperties(PropertySearchRequest request) {
+        validateFilters(request);
+        normalizeLocation(request);
+
+        String cacheKey = resultCacheKey(request, null, "all");
+        CachedSearchResult cached = cacheKey != null ? searchResultCache.getIfPresent(cacheKey) : null;
+        if (cached != null) {
+            return hydrateCards(cached.getPropertyIds());
+        }
+
+        List<Property> properties = propertyRepository.search(request);
+        fillDistances(properties, request);
+        if (cacheKey != null) {
+            searchResultCache.put(cacheKey, new CachedSearchResult(ids(properties), null, null));
+        }
+        return properties.stream()
+                .map(PropertyCardResponse::fromProperty)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Search one page of properties using keyset pagination.
+     * The cursor carries the last sort value and id, so no page ever uses skip.
+     */
+    public CursorPageResponse<PropertyCardResponse> searchPage(PropertySearchRequest request) {
+        validateFilters(request);
+        normalizeLocation(request);
+
+        PropertySearchRequest.SortBy sort = StringUtils.hasText(request.getSort())
+                ? PropertySearchRequest.SortBy.valueOf(request.getSort().trim().toUpperCase(Locale.ROOT))
+                : request.hasKeyword() ? PropertySearchRequest.SortBy.RELEVANCE : PropertySearchRequest.SortBy.NEWEST;
+        int limit = request.getLimit() != null
+                ? Math.max(1, Math.min(request.getLimit(), MAX_PAGE_SIZE))
+                : DEFAULT_PAGE_SIZE;
+        if (sort == PropertySearchRequest.SortBy.DISTANCE && !request.hasLocation()) {
+            throw new RuntimeException("Latitude and longitude are required to sort by distance!");
+        }
+        if (sort == PropertySearchRequest.SortBy.DISTANCE && request.hasKeyword()) {
+            throw new RuntimeException("Keyword results cannot be sorted by distance!");
+        }
+        if (sort == PropertySearchRequest.SortBy.RELEVANCE && !request.hasKeyword()) {
+            throw new RuntimeException("A keyword is required to sort by relevance!");
+        }
+        PropertySearchCursor after = StringUtils.hasText(request.getCursor())
+                ? PropertySearchCursor.decode(request.getCursor(), sort)
+                : null;
+
+        String cacheKey = resultCacheKey(request, sort,
+                sort + "/" + limit + "/" + request.isIncludeTotal() + "/" + request.getCursor());
+        CachedSearchResult cached = cacheKey != null ? searchResultCache.getIfPresent(cacheKey) : null;
+        if (cached != null) {
+            List<PropertyCardResponse> cards = hydrateCards(cached.getPropertyIds());
+            return new CursorPageResponse<>(cards, cards.size(), cached.getNextCursor(), cached.getApproximateTotal());
+        }
+
+        // Fetch one extra row to learn whether another page exists
+        List<Property> rows = propertyRepository.searchPage(request, sort, after, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<Property> items = hasMore ? rows.subList(0, limit) : rows;
+        fillDistances(items, request);
+
+        String nextCursor = null;
+        if (hasMore) {
+            Property last = items.get(items.size() - 1);
+            nextCursor = new PropertySearchCursor(sort, sortValue(last, sort), last.getId()).encode();
+        }
+
+        // Counting is optional and capped: the exact total is rarely worth a full scan
+        Long approximateTotal = request.isIncludeTotal()
+                ? propertyRepository.countMatching(request, MAX_COUNTED_TOTAL)
+                : null;
+
+        if (cacheKey != null) {
+            searchResultCache.put(cacheKey, new CachedSearchResult(ids(items), nextCursor, approximateTotal));
+        }
+        List<PropertyCardResponse> cards = items.stream()
+                .map(PropertyCardResponse::fromProperty)
+                .collect(Collectors.toList());
+        return new CursorPageResponse<>(cards, cards.size(), nextCursor, approximateTotal);
+    }
+
+    /**
+     * Cached results are id lists and cards are read through the detail cache, so
+     * only changes that can move a property in or out of a result, or reorder it,
+     * need a new version. Booking counters (INVENTORY) do neither: no search
+     * filters on free rooms. A new rating only reorders rating-sorted pages.
+     */
+    @EventListener
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (event.isContentChange()) {
+            bumpVersion(cityVersions, event.getProperty().getNormalizedCity());
+            bumpVersion(cityVersions, event.getPreviousCity());
+        } else if (event.getType() == PropertyChangedEvent.ChangeType.RATING) {
+            bumpVersion(cityRatingVersions, event.getProperty().getNormalizedCity());
+        }
+    }
+
+    /**
+     * Cache key for a city-scoped search: the filters in canonical form plus the
+     * city's current version (and rating version, for pages sorted by rating).
+     * Read before querying, so a write that races the query leaves the result
+     * under an already outdated key. Location searches are too specific to be
+     * worth caching, and stay searches depend on bookings, which move neither
+     * version.
+     */
+    private String resultCacheKey(PropertySearchRequest request, PropertySearchRequest.SortBy sort, String page) {
+        if (!StringUtils.hasText(request.getCity()) || request.hasLocation() || request.hasStay()) {
+            return null;
+        }
+        String city = Property.normalizeCity(request.getCity());
+        String version = Long.toString(version(cityVersions, city));
+        if (sort == PropertySearchRequest.SortBy.RATING) {
+            version += "." + version(cityRatingVersions, city);
+        }
+        return String.join("|",
+                city,
+                version,
+                canonical(request.getState()),
+                canonical(request.getPropertyType()),
+                canonical(request.getRoomType()),
+                canonical(request.getGenderPreference()),
+                String.valueOf(request.getMinPrice()),
+                String.valueOf(request.getMaxPrice()),
+                Integer.toString(Property.Amenity.maskOf(request.getAmenities())),
+                canonical(request.getKeyword()),
+                page);
+    }
+
+    private static long version(Map<String, AtomicLong> versions, String city) {
+        return versions.computeIfAbsent(city, key -> new AtomicLong()).get();
+    }
+
+    private static void bumpVersion(Map<String, AtomicLong> versions, String city) {
+        if (city != null) {
+            versions.computeIfAbsent(city, key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    private static String canonical(String value) {
+        return value != null ? value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static List<String> ids(List<Property> properties) {
+        return properties.stream().map(Property::getId).collect(Collectors.toList());
+    }
+
+    /**
+     * Cards for the given ids, in order, read through the property detail cache;
+     * ids that no longer resolve are dropped
+     */
+    public List<PropertyCardResponse> hydrateCards(List<String> propertyIds) {
+        Map<String, PropertyResponse> details = propertyDetailCache.getAll(propertyIds, missing -> {
+            Map<String, PropertyResponse> loaded = new HashMap<>();
+            propertyRepository.findAllById(missing)
+                    .forEach(property -> loaded.put(property.getId(), PropertyResponse.fromProperty(property)));
+            return loaded;
+        });
+        return propertyIds.stream()
+                .map(details::get)
+                .filter(Objects::nonNull)
+                .map(PropertyCardResponse::fromResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Check an export request up front, while an error can still be a 400
+     */
+    public void validateExport(PropertySearchRequest request) {
+        validateFilters(request);
+        normalizeLocation(request);
+    }
+
+    /**
+     * Stream up to MAX_EXPORT_ROWS matching properties to out as NDJSON cards,
+     * straight from a cursor. Anyone may call this, so rows carry card fields
+     * only, never owner contacts. Call validateExport first.
+     */
+    public long exportMatching(PropertySearchRequest request, OutputStream out) throws IOException {
+        return propertyExportWriter.writeCards(propertyRepository.streamMatching(request, MAX_EXPORT_ROWS), out);
+    }
+
+    /**
+     * Facet counts for the browse page filter chips, computed in one aggregation
+     */
+    public PropertyFacetResponse getFacets(PropertySearchRequest request) {
+        validateFilters(request);
+        normalizeLocation(request);
+        return propertyRepository.facets(request);
+    }
+
+    private Object sortValue(Property property, PropertySearchRequest.SortBy sort) {
+        return switch (sort) {
+            case RENT -> property.getMonthlyRent();
+            case RATING -> property.getAverageRating();
+            case NEWEST -> property.getCreatedAt();
+            case DISTANCE -> property.getGeoDistance();
+            case RELEVANCE -> property.getTextScore();
+        };
+    }
+
+    private void normalizeLocation(PropertySearchRequest request) {
+        if ((request.getLatitude() == null) != (request.getLongitude() == null)) {
+            throw new RuntimeException("Both latitude and longitude are required for a location search!");
+        }
+        if (!request.hasLocation()) {
+            return;
+        }
+        if (Math.abs(request.getLatitude()) > 90 || Math.abs(request.getLongitude()) > 180) {
+            throw new RuntimeException("Invalid coordinates!");
+        }
+        double radius = request.getRadiusKm() != null ? request.getRadiusKm() : DEFAULT_RADIUS_KM;
+        request.setRadiusKm(Math.max(0.1, Math.min(radius, MAX_RADIUS_KM)));
+    }
+
+    /**
+     * Great-circle distance from the search point, rounded to the metre. Computed here
+     * rather than read from $geoNear so every sort mode reports it the same way.
+     */
+    private void fillDistances(List<Property> properties, PropertySearchRequest request) {
+        if (!request.hasLocation()) {
+            return;
+        }
+        for (Property property : properties) {
+            if (property.getLatitude() == null || property.getLongitude() == null) {
+                continue;
+            }
+            double distance = haversineKm(request.getLatitude(), request.getLongitude(),
+                    property.getLatitude(), property.getLongitude());
+            property.setDistanceKm(Math.round(distance * 1000.0) / 1000.0);
+        }
+    }
+
+    private static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+    }
+
+    private void validateFilters(PropertySearchRequest request) {
+        if (request.getMinPrice() != null && request.getMaxPrice() != null
+                && request.getMinPrice() > request.getMaxPrice()) {
+            throw new RuntimeException("Minimum price cannot be greater than maximum price!");
+        }
+        if (request.hasKeyword() && request.getKeyword().length() > MAX_KEYWORD_LENGTH) {
+            throw new RuntimeException("Keyword is too long!");
+        }
+        if (request.getStayMonths() != null && !request.hasStay()) {
+            throw new RuntimeException("A move-in date is required to search by length of stay!");
+        }
+        if (request.hasStay()) {
+            if (request.getMoveInDate().isBefore(LocalDate.now())) {
+                throw new RuntimeException("Move-in date cannot be in the past!");
+            }
+            if (request.getStayMonths() != null
+                    && (request.getStayMonths() < 1 || request.getStayMonths() > MAX_STAY_MONTHS)) {
+                throw new RuntimeException("Stay must be between 1 and " + MAX_STAY_MONTHS + " months!");
+            }
+        }
+    }
+}
@@ -1,17 +1,25 @@
 package com.example.Mess_PgSathi.service;
 
+import com.example.Mess_PgSathi.cache.BoundedCache;
+import com.example.Mess_PgSathi.cache.UserSnapshot;
+import com.example.Mess_PgSathi.event.PropertyChangedEvent;
 import com.example.Mess_PgSathi.model.Property;
 import com.example.Mess_PgSathi.model.User;
 import com.example.Mess_PgSathi.payload.request.AddPropertyRequest;
+import com.example.Mess_PgSathi.payload.response.PropertyCardResponse;
 import com.example.Mess_PgSathi.payload.response.PropertyResponse;
 import com.example.Mess_PgSathi.repository.PropertyRepository;
-import com.example.Mess_PgSathi.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,102 +27,84 @@ import java.util.stream.Collectors;
 public class PropertyService {
 
     private final PropertyRepository propertyRepository;
-    private final UserRepository userRepository;
+    private final UserSnapshotService userSnapshotService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BoundedCache<String, PropertyResponse> propertyDetailCache;
+    private final PropertyExportWriter propertyExportWriter;
 
     /**
      * Add new property by owner
      */
     public PropertyResponse addProperty(AddPropertyRequest request, String ownerId) {
-        // Verify owner exists and has PG_OWNER role
-        Optional<User> ownerOpt = userRepository.findById(ownerId);
+        Property property = newProperty(request, verifyOwner(ownerId));
+
+        // Save property
+        Property savedProperty = propertyRepository.save(property);
+        eventPublisher.publishEvent(new PropertyChangedEvent(savedProperty, PropertyChangedEvent.ChangeType.CREATED));
+        return PropertyResponse.fromProperty(savedProperty);
+    }
+
+    /**
+     * Verify owner exists and has PG_OWNER role
+     */
+    public UserSnapshot verifyOwner(String ownerId) {
+        Optional<UserSnapshot> ownerOpt = userSnapshotService.findById(ownerId);
         if (ownerOpt.isEmpty()) {
             throw new RuntimeException("Owner not found!");
         }
-        
-        User owner = ownerOpt.get();
+
+        UserSnapshot owner = ownerOpt.get();
         if (!owner.getRole().equals(User.Role.PG_OWNER)) {
             throw new RuntimeException("Only PG owners can add properties!");
         }
+        return owner;
+    }
 
-        // Create new property
+    /**
+     * Build a new, unsaved active property for a verified owner
+     */
+    public Property newProperty(AddPropertyRequest request, UserSnapshot owner) {
         Property property = new Property();
-        property.setName(request.getName());
-        property.setDescription(request.getDescription());
-        property.setPropertyType(Property.PropertyType.valueOf(request.getPropertyType().toUpperCase()));
-        property.setAddress(request.getAddress());
-        property.setCity(request.getCity());
-        property.setState(request.getState());
-        property.setPinCode(request.getPinCode());
-        property.setLatitude(request.getLatitude());
-        property.setLongitude(request.getLongitude());
+        applyRequest(property, request);
 
         // Set owner information
-        property.setOwnerId(ownerId);
+        property.setOwnerId(owner.getId());
         property.setOwnerName(owner.getFullName());
         property.setOwnerPhone(owner.getPhoneNumber());
         property.setOwnerEmail(owner.getEmail());
 
-        // Set property details
-        property.setTotalRooms(request.getTotalRooms());
-        property.setAvailableRooms(request.getAvailableRooms());
-        property.setMonthlyRent(request.getMonthlyRent());
-        property.setSecurityDeposit(request.getSecurityDeposit());
-
-        // Set room and preference details
-        property.setRoomType(Property.RoomType.valueOf(request.getRoomType().toUpperCase()));
-        property.setGenderPreference(Property.GenderPreference.valueOf(request.getGenderPreference().toUpperCase()));
-
-        // Set amenities
-        property.setWifi(request.isWifi());
-        property.setParking(request.isParking());
-        property.setMeals(request.isMeals());
-        property.setLaundry(request.isLaundry());
-        property.setAc(request.isAc());
-        property.setTv(request.isTv());
-        property.setGym(request.isGym());
-        property.setSecurity(request.isSecurity());
-        property.setPowerBackup(request.isPowerBackup());
-        property.setHousekeeping(request.isHousekeeping());
-
-        // Set additional information
-        property.setNearbyLandmarks(request.getNearbyLandmarks());
-        property.setRulesAndRegulations(request.getRulesAndRegulations());
-        property.setDistanceFromCollege(request.getDistanceFromCollege());
-        property.setCollegeNearby(request.getCollegeNearby());
-        property.setImageUrls(request.getImageUrls());
-
         // Set timestamps and status
-        property.setCreatedAt(LocalDateTime.now());
-        property.setUpdatedAt(LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        property.setCreatedAt(now);
+        property.setUpdatedAt(now);
         property.setStatus(Property.PropertyStatus.ACTIVE);
-
-        // Validate available rooms <= total rooms
-        if (property.getAvailableRooms() > property.getTotalRooms()) {
-            throw new RuntimeException("Available rooms cannot exceed total rooms!");
-        }
-
-        // Save property
-        Property savedProperty = propertyRepository.save(property);
-        return PropertyResponse.fromProperty(savedProperty);
+        return property;
     }
 
     /**
      * Get all properties by owner
      */
-    public List<PropertyResponse> getPropertiesByOwner(String ownerId) {
-        List<Property> properties = propertyRepository.findByOwnerId(ownerId);
+    public List<PropertyCardResponse> getPropertiesByOwner(String ownerId) {
+        List<Property> properties = propertyRepository.findCardsByOwnerId(ownerId);
         return properties.stream()
-                .map(PropertyResponse::fromProperty)
+                .map(PropertyCardResponse::fromProperty)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Stream all of an owner's properties to out as NDJSON
+     */
+    public long exportPropertiesByOwner(String ownerId, OutputStream out) throws IOException {
+        return propertyExportWriter.write(propertyRepository.streamByOwnerIdOrderByCreatedAtDesc(ownerId), out);
+    }
+
     /**
      * Get active properties by owner
      */
-    public List<PropertyResponse> getActivePropertiesByOwner(String ownerId) {
-        List<Property> properties = propertyRepository.findByOwnerIdAndStatus(ownerId, Property.PropertyStatus.ACTIVE);
+    public List<PropertyCardResponse> getActivePropertiesByOwner(String ownerId) {
+        List<Property> properties = propertyRepository.findCardsByOwnerIdAndStatus(ownerId, Property.PropertyStatus.ACTIVE);
         return properties.stream()
-                .map(PropertyResponse::fromProperty)
+                .map(PropertyCardResponse::fromProperty)
                 .collect(Collectors.toList());
     }
 
@@ -122,17 +112,83 @@ public class PropertyService {
      * Get property by ID
      */
     public PropertyResponse getPropertyById(String propertyId) {
-        Optional<Property> propertyOpt = propertyRepository.findById(propertyId);
-        if (propertyOpt.isEmpty()) {
-            throw new RuntimeException("Property not found!");
+        return propertyDetailCache.get(propertyId, id -> {
+            Optional<Property> propertyOpt = propertyRepository.findById(id);
+            if (propertyOpt.isEmpty()) {
+                throw new RuntimeException("Property not found!");
+            }
+            return PropertyResponse.fromProperty(propertyOpt.get());
+        });
+    }
+
+    /**
+     * Drop the cached detail whenever any service writes the property
+     */
+    @EventListener
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        propertyDetailCache.invalidate(event.getProperty().getId());
+    }
+
+    /**
+     * Room counters of a property as one read saw them
+     */
+    private record RoomCounts(int total, int available) {
+
+        static RoomCounts of(Property property) {
+            return new RoomCounts(valueOf(property.getTotalRooms()), valueOf(property.getAvailableRooms()));
+        }
+
+        private static int valueOf(Integer rooms) {
+            return rooms != null ? rooms : 0;
         }
-        return PropertyResponse.fromProperty(propertyOpt.get());
     }
 
     /**
-     * Update property
+     * Update property. A retry after a conflicting write re-applies the form on
+     * the fresh document, but the room counters are carried as the owner's change
+     * to what the first attempt read, so rooms booked or released meanwhile are
+     * kept instead of overwritten.
      */
     public PropertyResponse updateProperty(String propertyId, AddPropertyRequest request, String ownerId) {
+        AtomicReference<RoomCounts> firstRead = new AtomicReference<>();
+        return OptimisticRetry.run(() -> {
+            Optional<Property> propertyOpt = propertyRepository.findById(propertyId);
+            if (propertyOpt.isEmpty()) {
+                throw new RuntimeException("Property not found!");
+            }
+
+            Property property = propertyOpt.get();
+        
+            // Check if the owner is authorized to update this property
+            if (!property.getOwnerId().equals(ownerId)) {
+                throw new RuntimeException("You are not authorized to update this property!");
+            }
+
+            String previousCity = property.getNormalizedCity();
+            RoomCounts read = RoomCounts.of(property);
+            RoomCounts first = firstRead.updateAndGet(seen -> seen != null ? seen : read);
+
+            applyRequest(property, request);
+            if (!read.equals(first)) {
+                property.setTotalRooms(read.total() + property.getTotalRooms() - first.total());
+                property.setAvailableRooms(read.available() + property.getAvailableRooms() - first.available());
+                if (property.getAvailableRooms() < 0 || property.getAvailableRooms() > property.getTotalRooms()) {
+                    throw new RuntimeException("Rooms were booked while saving, please review the room counts and try again!");
+                }
+            }
+            property.setUpdatedAt(LocalDateTime.now());
+
+            Property savedProperty = propertyRepository.save(property);
+            eventPublisher.publishEvent(new PropertyChangedEvent(savedProperty, PropertyChangedEvent.ChangeType.UPDATED,
+                    previousCity != null && !previousCity.equals(savedProperty.getNormalizedCity()) ? previousCity : null));
+            return PropertyResponse.fromProperty(savedProperty);
+        });
+    }
+
+    /**
+     * Delete property
+     */
+    public void deleteProperty(String propertyId, String ownerId) {
         Optional<Property> propertyOpt = propertyRepository.findById(propertyId);
         if (propertyOpt.isEmpty()) {
             throw new RuntimeException("Property not found!");
@@ -140,12 +196,33 @@ public class PropertyService {
 
         Property property = propertyOpt.get();
         
-        // Check if the owner is authorized to update this property
+        // Check if the owner is authorized to delete this property
         if (!property.getOwnerId().equals(ownerId)) {
-            throw new RuntimeException("You are not authorized to update this property!");
+            throw new RuntimeException("You are not authorized to delete this property!");
         }
 
-        // Update property details
+        propertyRepository.delete(property);
+        eventPublisher.publishEvent(new PropertyChangedEvent(property, PropertyChangedEvent.ChangeType.DELETED));
+    }
+
+    /**
+     * Get property statistics for owner
+     */
+    public PropertyStatistics getOwnerPropertyStatistics(String ownerId) {
+        long totalProperties = propertyRepository.countByOwnerId(ownerId);
+        long activeProperties = propertyRepository.countByOwnerIdAndStatus(ownerId, Property.PropertyStatus.ACTIVE);
+        
+        List<Property> ownerProperties = propertyRepository.findCardsByOwnerId(ownerId);
+        int totalRooms = ownerProperties.stream().mapToInt(Property::getTotalRooms).sum();
+        int availableRooms = ownerProperties.stream().mapToInt(Property::getAvailableRooms).sum();
+        
+        return new PropertyStatistics(totalProperties, activeProperties, totalRooms, availableRooms);
+    }
+
+    /**
+     * Copy the owner-editable fields of a request onto a property
+     */
+    private static void applyRequest(Property property, AddPropertyRequest request) {
         property.setName(request.getName());
         property.setDescription(request.getDescription());
         property.setPropertyType(Property.PropertyType.valueOf(request.getPropertyType().toUpperCase()));
@@ -156,15 +233,17 @@ public class PropertyService {
         property.setLatitude(request.getLatitude());
         property.setLongitude(request.getLongitude());
 
+        // Set property details
         property.setTotalRooms(request.getTotalRooms());
         property.setAvailableRooms(request.getAvailableRooms());
         property.setMonthlyRent(request.getMonthlyRent());
         property.setSecurityDeposit(request.getSecurityDeposit());
 
+        // Set room and preference details
         property.setRoomType(Property.RoomType.valueOf(request.getRoomType().toUpperCase()));
         property.setGenderPreference(Property.GenderPreference.valueOf(request.getGenderPreference().toUpperCase()));
 
-        // Update amenities
+        // Set amenities
         property.setWifi(request.isWifi());
         property.setParking(request.isParking());
         property.setMeals(request.isMeals());
@@ -176,74 +255,17 @@ public class PropertyService {
         property.setPowerBackup(request.isPowerBackup());
         property.setHousekeeping(request.isHousekeeping());
 
+        // Set additional information
         property.setNearbyLandmarks(request.getNearbyLandmarks());
         property.setRulesAndRegulations(request.getRulesAndRegulations());
         property.setDistanceFromCollege(request.getDistanceFromCollege());
         property.setCollegeNearby(request.getCollegeNearby());
         property.setImageUrls(request.getImageUrls());
 
-        property.setUpdatedAt(LocalDateTime.now());
-
         // Validate available rooms <= total rooms
         if (property.getAvailableRooms() > property.getTotalRooms()) {
             throw new RuntimeException("Available rooms cannot exceed total rooms!");
         }
-
-        Property savedProperty = propertyRepository.save(property);
-        return PropertyResponse.fromProperty(savedProperty);
-    }
-
-    /**
-     * Delete property
-     */
-    public void deleteProperty(String propertyId, String ownerId) {
-        Optional<Property> propertyOpt = propertyRepository.findById(propertyId);
-        if (propertyOpt.isEmpty()) {
-            throw new RuntimeException("Property not found!");
-        }
-
-        Property property = propertyOpt.get();
-        
-        // Check if the owner is authorized to delete this property
-        if (!property.getOwnerId().equals(ownerId)) {
-            throw new RuntimeException("You are not authorized to delete this property!");
-        }
-
-        propertyRepository.delete(property);
-    }
-
-    /**
-     * Get property statistics for owner
-     */
-    public PropertyStatistics getOwnerPropertyStatistics(String ownerId) {
-        long totalProperties = propertyRepository.countByOwnerId(ownerId);
-        long activeProperties = propertyRepository.countByOwnerIdAndStatus(ownerId, Property.PropertyStatus.ACTIVE);
-        
-        List<Property> ownerProperties = propertyRepository.findByOwnerId(ownerId);
-        int totalRooms = ownerProperties.stream().mapToInt(Property::getTotalRooms).sum();
-        int availableRooms = ownerProperties.stream().mapToInt(Property::getAvailableRooms).sum();
-        
-        return new PropertyStatistics(totalProperties, activeProperties, totalRooms, availableRooms);
-    }
-
-    /**
-     * Search properties with filters (public method)
-     */
-    public List<Property> searchProperties(String city, String state, Property.PropertyType propertyType, 
-                                         Property.RoomType roomType, Double minPrice, Double maxPrice, 
-                                         Property.GenderPreference genderPreference) {
-        
-        List<Property> properties = propertyRepository.findByStatus(Property.PropertyStatus.ACTIVE);
-        
-        return properties.stream()
-                .filter(property -> city == null || (property.getCity() != null && property.getCity().equalsIgnoreCase(city)))
-                .filter(property -> state == null || (property.getState() != null && property.getState().equalsIgnoreCase(state)))
-                .filter(property -> propertyType == null || property.getPropertyType() == propertyType)
-                .filter(property -> roomType == null || property.getRoomType() == roomType)
-                .filter(property -> genderPreference == null || property.getGenderPreference() == genderPreference)
-                .filter(property -> minPrice == null || property.getMonthlyRent() >= minPrice)
-                .filter(property -> maxPrice == null || property.getMonthlyRent() <= maxPrice)
-                .collect(Collectors.toList());
     }
 
     // Inner class for statistics
@@ -0,0 +1,272 @@
+package com.example.Mess_PgSathi.service;
+
+import com.example.Mess_PgSathi.event.PreferencesChangedEvent;
+import com.example.Mess_PgSathi.event.PropertyChangedEvent;
+import com.example.Mess_PgSathi.model.Property;
+import com.example.Mess_PgSathi.model.RecommendationFeed;
+import com.example.Mess_PgSathi.model.UserPreference;
+import com.example.Mess_PgSathi.payload.response.RecommendationResponse;
+import com.example.Mess_PgSathi.repository.ListingIndex;
+import com.example.Mess_PgSathi.repository.RecommendationFeedRepository;
+import com.example.Mess_PgSathi.repository.UserPreferenceRepository;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Precomputed "recommended for you" feeds, one small document per seeker in
+ * recommendation_feeds, so the dashboard never scores listings on a page load.
+ *
+ * Every active seeker's feed is rebuilt nightly. In between, a feed is marked
+ * stale when the seeker's preferences change or a listing in one of its cities
+ * is created, edited or removed, and stale feeds are recomputed every few
+ * minutes. Both jobs work through seekers in fixed-size chunks on a small,
+ * bounded pool and write each chunk with one unordered bulk upsert.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecommendationFeedService {
+
+    static final int FEED_SIZE = 20;
+    private static final int DASHBOARD_SIZE = 6;
+    private static final int CHUNK_SIZE = 200;
+    private static final int ACTIVE_SEEKER_DAYS = 60;
+    private static final int DUPLICATE_KEY = 11000;
+
+    @Value("${recommendations.feed.parallelism:4}")
+    private int parallelism;
+
+    private final MongoTemplate mongoTemplate;
+    private final RecommendationFeedRepository feedRepository;
+    private final UserPreferenceRepository userPreferenceRepository;
+    private final RecommendationService recommendationService;
+    private final PropertySearchService propertySearchService;
+    private final ListingIndex listingIndex;
+
+    /**
+     * Recompute the feed of every seeker active in the last 60 days and drop the
+     * feeds of everyone else. Feeds this run did not write (stale during the run,
+     * or in a chunk that failed) are kept for the stale refresh. Runs every day
+     * at 2 AM.
+     */
+    @Scheduled(cron = "0 0 2 * * *")
+    public void rebuildAllFeeds() {
+        if (!listingIndex.isReady()) {
+            log.warn("Skipping recommendation feed rebuild: listing index not built yet");
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        Query activeSeekers = new Query(Criteria.where("updatedAt").gte(startedAt.minusDays(ACTIVE_SEEKER_DAYS)));
+
+        Set<String> skipped = ConcurrentHashMap.newKeySet();
+        int written;
+        try (Stream<UserPreference> preferences = mongoTemplate.stream(activeSeekers, UserPreference.class)) {
+            written = inChunks(preferences.iterator(), chunk -> {
+                try {
+                    skipped.addAll(writeFeeds(chunk, startedAt));
+                } catch (RuntimeException e) {
+                    chunk.forEach(preference -> skipped.add(preference.getUserId()));
+                    throw e;
+                }
+            });
+        }
+        long removed = mongoTemplate.remove(new Query(Criteria.where("generatedAt").lt(startedAt)
+                .and("_id").nin(skipped)), RecommendationFeed.class).getDeletedCount();
+        log.info("Recommendation feeds rebuilt for {} seekers, {} inactive feeds removed", written, removed);
+    }
+
+    /**
+     * Recompute feeds marked stale since they were generated. Runs every 5 minutes.
+     */
+    @Scheduled(initialDelay = 300000, fixedDelay = 300000)
+    public void refreshStaleFeeds() {
+        if (!listingIndex.isReady()) {
+            return;
+        }
+        Query staleFeeds = new Query(Criteria.where("stale").is(true));
+        staleFeeds.fields().include("_id");
+
+        int written;
+        try (Stream<RecommendationFeed> feeds = mongoTemplate.stream(staleFeeds, RecommendationFeed.class)) {
+            Iterator<String> userIds = feeds.map(RecommendationFeed::getUserId).iterator();
+            written = inChunks(userIds, chunk -> {
+                // Taken before the preferences are read, see writeFeeds
+                LocalDateTime startedAt = LocalDateTime.now();
+                List<UserPreference> preferences = userPreferenceRepository.findByUserIdIn(chunk);
+                writeFeeds(preferences, startedAt);
+
+                // Seekers whose preferences were deleted lose their feed
+                Set<String> orphaned = new HashSet<>(chunk);
+                preferences.forEach(preference -> orphaned.remove(preference.getUserId()));
+                if (!orphaned.isEmpty()) {
+                    mongoTemplate.remove(new Query(Criteria.where("_id").in(orphaned)), RecommendationFeed.class);
+                }
+            });
+        }
+        if (written > 0) {
+            log.info("Refreshed {} stale recommendation feeds", written);
+        }
+    }
+
+    @EventListener
+    public void onPreferencesChanged(PreferencesChangedEvent event) {
+        markStale(Criteria.where("_id").is(event.getUserId()));
+    }
+
+    // Room counts and ratings are read fresh when the feed is shown, so only content changes count
+    @EventListener
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (!event.isContentChange()) {
+            return;
+        }
+        Set<String> cities = new HashSet<>();
+        if (event.getProperty().getNormalizedCity() != null) {
+            cities.add(event.getProperty().getNormalizedCity());
+        }
+        if (event.getPreviousCity() != null) {
+            cities.add(event.getPreviousCity());
+        }
+        if (!cities.isEmpty()) {
+            markStale(Criteria.where("cities").in(cities).and("stale").is(false));
+        }
+    }
+
+    /**
+     * Recommendations for the dashboard from the seeker's feed. A seeker without
+     * a feed yet gets one computed and stored on the spot.
+     */
+    public List<RecommendationResponse> getDashboardRecommendations(String userId) {
+        RecommendationFeed feed = feedRepository.findById(userId).orElse(null);
+        if (feed == null) {
+            LocalDateTime startedAt = LocalDateTime.now();
+            UserPreference preference = userPreferenceRepository.findByUserId(userId).orElse(null);
+            if (preference == null) {
+                return List.of();
+            }
+            feed = buildFeed(preference, startedAt);
+            feedRepository.save(feed);
+        }
+
+        Map<String, Double> scores = new HashMap<>();
+        for (int i = 0; i < feed.getPropertyIds().size(); i++) {
+            scores.put(feed.getPropertyIds().get(i), feed.getScores().get(i));
+        }
+        // Listings can fill up or be deactivated after the feed was built
+        return propertySearchService.hydrateCards(feed.getPropertyIds()).stream()
+                .filter(card -> Property.PropertyStatus.ACTIVE.name().equals(card.getStatus()))
+                .filter(card -> card.getAvailableRooms() != null && card.getAvailableRooms() > 0)
+                .limit(DASHBOARD_SIZE)
+                .map(card -> new RecommendationResponse(card, scores.get(card.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private void markStale(Criteria criteria) {
+        mongoTemplate.updateMulti(new Query(criteria),
+                new Update().set("stale", true).set("staleAt", LocalDateTime.now()),
+                RecommendationFeed.class);
+    }
+
+    private RecommendationFeed buildFeed(UserPreference preference, LocalDateTime startedAt) {
+        List<RecommendationService.ScoredListing> top = recommendationService.topListings(preference, FEED_SIZE);
+        RecommendationFeed feed = new RecommendationFeed();
+        feed.setUserId(preference.getUserId());
+        feed.setPropertyIds(top.stream().map(RecommendationService.ScoredListing::getPropertyId).collect(Collectors.toList()));
+        feed.setScores(top.stream().map(RecommendationService.ScoredListing::getScore).collect(Collectors.toList()));
+        feed.setCities(new ArrayList<>(RecommendationService.candidateCities(preference)));
+        feed.setStale(false);
+        feed.setGeneratedAt(startedAt);
+        return feed;
+    }
+
+    /**
+     * Upsert one chunk of feeds. A feed marked stale after startedAt (the
+     * preferences were read after it) no longer matches the filter, so its upsert
+     * fails on the duplicate _id and the feed is left for the next refresh.
+     * Returns the seekers whose feed was not written.
+     */
+    private List<String> writeFeeds(List<UserPreference> preferences, LocalDateTime startedAt) {
+        if (preferences.isEmpty()) {
+            return List.of();
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RecommendationFeed.class);
+        for (UserPreference preference : preferences) {
+            RecommendationFeed feed = buildFeed(preference, startedAt);
+            Query notStaleSince = new Query(Criteria.where("_id").is(feed.getUserId())
+                    .orOperator(Criteria.where("staleAt").exists(false), Criteria.where("staleAt").lt(startedAt)));
+            bulk.upsert(notStaleSince, new Update()
+                    .set("propertyIds", feed.getPropertyIds())
+                    .set("scores", feed.getScores())
+                    .set("cities", feed.getCities())
+                    .set("stale", false)
+                    .set("generatedAt", feed.getGeneratedAt()));
+        }
+        try {
+            bulk.execute();
+            return List.of();
+        } catch (BulkOperationException e) {
+            long failed = e.getErrors().stream().map(BulkWriteError::getCode).filter(code -> code != DUPLICATE_KEY).count();
+            if (failed > 0) {
+                log.error("Failed to write {} recommendation feeds: {}", failed, e.getMessage());
+            }
+            return e.getErrors().stream().map(error -> preferences.get(error.getIndex()).getUserId()).toList();
+        }
+    }
+
+    /**
+     * Feed the source to work in chunks of CHUNK_SIZE on a pool of `parallelism`
+     * threads. At most `parallelism` chunks are in flight, so the reader never
+     * runs ahead of the workers. Returns the number of items handed out.
+     */
+    private <T> int inChunks(Iterator<T> source, Consumer<List<T>> work) {
+        int threads = Math.max(1, parallelism);
+        Semaphore inFlight = new Semaphore(threads);
+        int items = 0;
+        try (ExecutorService pool = Executors.newFixedThreadPool(threads)) {
+            while (source.hasNext()) {
+                List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+                while (source.hasNext() && chunk.size() < CHUNK_SIZE) {
+                    chunk.add(source.next());
+                }
+                inFlight.acquireUninterruptibly();
+                items += chunk.size();
+                pool.execute(() -> {
+                    try {
+                        work.accept(chunk);
+                    } catch (Exception e) {
+                        log.error("Recommendation feed chunk failed: {}", e.getMessage());
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return items;
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.Mess_PgSathi.service;
+
+import com.example.Mess_PgSathi.model.Property;
+import com.example.Mess_PgSathi.model.UserPreference;
+import com.example.Mess_PgSathi.payload.response.PropertyCardResponse;
+import com.example.Mess_PgSathi.payload.response.RecommendationResponse;
+import com.example.Mess_PgSathi.repository.ListingIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * "Recommended for you": scores the active listings of the seeker's preferred
+ * and recently searched cities against their preferences. Candidates come from the in-memory
+ * {@link ListingIndex} city buckets, and only the best K are kept in a min-heap,
+ * so a request costs one pass over those cities and O(n log K) comparisons.
+ */
+@Service
+@RequiredArgsConstructor
+public class RecommendationService {
+
+    private static final int DEFAULT_RECOMMENDATIONS = 10;
+    private static final int MAX_RECOMMENDATIONS = 50;
+
+    // Searches newest first; only this many contribute their city
+    private static final int RECENT_SEARCH_CITIES = 3;
+
+    // Score weights, summing to 1
+    private static final double BUDGET_WEIGHT = 0.35;
+    private static final double AMENITY_WEIGHT = 0.30;
+    private static final double RATING_WEIGHT = 0.20;
+    private static final double TYPE_WEIGHT = 0.15;
+
+    // Unreviewed listings score as if rated this, so new listings are not buried
+    private static final double NEUTRAL_RATING = 3.0;
+
+    private static final Comparator<ScoredListing> WORST_FIRST = Comparator
+            .comparingDouble(ScoredListing::getScore)
+            .thenComparing(ScoredListing::getPropertyId, Comparator.reverseOrder());
+
+    private final UserPreferenceService userPreferenceService;
+    private final ListingIndex listingIndex;
+    private final PropertySearchService propertySearchService;
+
+    /**
+     * Top listings for a seeker, best first
+     */
+    public List<RecommendationResponse> getRecommendations(String userId, Integer limit) {
+        int size = limit != null ? Math.max(1, Math.min(limit, MAX_RECOMMENDATIONS)) : DEFAULT_RECOMMENDATIONS;
+        List<ScoredListing> top = topListings(userPreferenceService.getPreferences(userId), size);
+
+        Map<String, Double> scores = new HashMap<>();
+        top.forEach(listing -> scores.put(listing.getPropertyId(), listing.getScore()));
+        List<PropertyCardResponse> cards = propertySearchService.hydrateCards(
+                top.stream().map(ScoredListing::getPropertyId).collect(Collectors.toList()));
+        return cards.stream()
+                .map(card -> new RecommendationResponse(card, scores.get(card.getId())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * The k best scoring listings in the candidate cities, best first. Seekers
+     * without a preferred or recently searched city get no recommendations.
+     */
+    public List<ScoredListing> topListings(UserPreference preference, int k) {
+        int neededAmenities = neededAmenityMask(preference);
+
+        PriorityQueue<ScoredListing> heap = new PriorityQueue<>(k + 1, WORST_FIRST);
+        for (String city : candidateCities(preference)) {
+            listingIndex.forEachInCity(city, listing -> {
+                if (!isEligible(preference, listing)) {
+                    return;
+                }
+                ScoredListing candidate = new ScoredListing(listing.getId(), score(preference, listing, neededAmenities));
+                if (heap.size() < k) {
+                    heap.add(candidate);
+                } else if (WORST_FIRST.compare(candidate, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(candidate);
+                }
+            });
+        }
+
+        List<ScoredListing> best = new ArrayList<>(heap);
+        best.sort(WORST_FIRST.reversed());
+        return best;
+    }
+
+    /**
+     * Normalized preferred cities, followed by the cities of the latest searches
+     */
+    public static Set<String> candidateCities(UserPreference preference) {
+        Set<String> cities = new LinkedHashSet<>();
+        if (preference.getPreferredCities() != null) {
+            preference.getPreferredCities().forEach(city -> addCity(cities, city));
+        }
+        List<UserPreference.SearchHistory> searches = preference.getRecentSearches();
+        if (searches != null) {
+            for (int i = searches.size() - 1; i >= Math.max(0, searches.size() - RECENT_SEARCH_CITIES); i--) {
+                addCity(cities, searches.get(i).getCity());
+            }
+        }
+        return cities;
+    }
+
+    private static void addCity(Set<String> cities, String city) {
+        String normalized = Property.normalizeCity(city);
+        if (normalized != null && !normalized.isEmpty()) {
+            cities.add(normalized);
+        }
+    }
+
+    private static boolean isEligible(UserPreference preference, ListingIndex.Listing listing) {
+        if (listing.getAvailableRooms() <= 0) {
+            return false;
+        }
+        Property.GenderPreference wanted = preference.getGenderPreference();
+        return wanted == null || wanted == Property.GenderPreference.UNISEX
+                || listing.getGenderPreference() == wanted
+                || listing.getGenderPreference() == Property.GenderPreference.UNISEX;
+    }
+
+    static double score(UserPreference preference, ListingIndex.Listing listing, int neededAmenities) {
+        double budget = budgetScore(preference.getMinBudget(), preference.getMaxBudget(), listing.getMonthlyRent());
+        double amenities = neededAmenities == 0
+                ? 1.0
+                : (double) Integer.bitCount(listing.getAmenityMask() & neededAmenities) / Integer.bitCount(neededAmenities);
+        double rating = (listing.getAverageRating() > 0 ? listing.getAverageRating() : NEUTRAL_RATING) / 5.0;
+        double type = (preference.getPreferredPropertyType() == null
+                || preference.getPreferredPropertyType() == listing.getPropertyType() ? 0.6 : 0.0)
+                + (preference.getPreferredRoomType() == null
+                || preference.getPreferredRoomType() == listing.getRoomType() ? 0.4 : 0.0);
+
+        double score = BUDGET_WEIGHT * budget + AMENITY_WEIGHT * amenities + RATING_WEIGHT * rating + TYPE_WEIGHT * type;
+        return Math.round(score * 1000.0) / 1000.0;
+    }
+
+    /**
+     * 1 inside the budget. Above it the score falls to 0 at 50% over; below the
+     * minimum it only drops to 0.5, since cheaper is a mild mismatch at worst.
+     */
+    private static double budgetScore(Double minBudget, Double maxBudget, double rent) {
+        if (maxBudget != null && maxBudget > 0 && rent > maxBudget) {
+            return Math.max(0.0, 1.0 - 2.0 * (rent - maxBudget) / maxBudget);
+        }
+        if (minBudget != null && minBudget > 0 && rent < minBudget) {
+            return Math.max(0.5, 1.0 - (minBudget - rent) / minBudget);
+        }
+        return 1.0;
+    }
+
+    private static int neededAmenityMask(UserPreference preference) {
+        int mask = 0;
+        if (preference.isNeedWifi()) mask |= Property.Amenity.WIFI.bit();
+        if (preference.isNeedParking()) mask |= Property.Amenity.PARKING.bit();
+        if (preference.isNeedMeals()) mask |= Property.Amenity.MEALS.bit();
+        if (preference.isNeedLaundry()) mask |= Property.Amenity.LAUNDRY.bit();
+        if (preference.isNeedAc()) mask |= Property.Amenity.AC.bit();
+        if (preference.isNeedTv()) mask |= Property.Amenity.TV.bit();
+        if (preference.isNeedGym()) mask |= Property.Amenity.GYM.bit();
+        if (preference.isNeedSecurity()) mask |= Property.Amenity.SECURITY.bit();
+        if (preference.isNeedPowerBackup()) mask |= Property.Amenity.POWER_BACKUP.bit();
+        if (preference.isNeedHousekeeping()) mask |= Property.Amenity.HOUSEKEEPING.bit();
+        return mask;
+    }
+
+    public static class ScoredListing {
+        private final String propertyId;
+        private final double score;
+
+        public ScoredListing(String propertyId, double score) {
+            this.propertyId = propertyId;
+            this.score = score;
+        }
+
+        public String getPropertyId() {
+            return propertyId;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+}
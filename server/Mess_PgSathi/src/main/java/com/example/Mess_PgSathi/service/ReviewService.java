@@ -1,14 +1,20 @@
 package com.example.Mess_PgSathi.service;
 
+import com.example.Mess_PgSathi.cache.UserSnapshot;
+import com.example.Mess_PgSathi.event.PropertyChangedEvent;
 import com.example.Mess_PgSathi.model.Booking;
 import com.example.Mess_PgSathi.model.Property;
 import com.example.Mess_PgSathi.model.Review;
-import com.example.Mess_PgSathi.model.User;
 import com.example.Mess_PgSathi.repository.BookingRepository;
 import com.example.Mess_PgSathi.repository.PropertyRepository;
 import com.example.Mess_PgSathi.repository.ReviewRepository;
-import com.example.Mess_PgSathi.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -21,7 +27,9 @@ public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final PropertyRepository propertyRepository;
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
+    private final UserSnapshotService userSnapshotService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MongoTemplate mongoTemplate;
 
     /**
      * Write a review for a property (must have completed or active booking)
@@ -33,7 +41,7 @@ public class ReviewService {
                               List<String> images, boolean wouldRecommend, int stayDurationMonths, String stayPeriod) {
         
         // Verify reviewer exists
-        User reviewer = userRepository.findById(reviewerId)
+        UserSnapshot reviewer = userSnapshotService.findById(reviewerId)
                 .orElseThrow(() -> new RuntimeException("User not found!"));
 
         // Verify property exists
@@ -109,55 +117,63 @@ public class ReviewService {
      * Owner responds to a review
      */
     public Review respondToReview(String reviewId, String ownerId, String response) {
-        Review review = reviewRepository.findById(reviewId)
-                .orElseThrow(() -> new RuntimeException("Review not found!"));
+        return OptimisticRetry.run(() -> {
+            Review review = reviewRepository.findById(reviewId)
+                    .orElseThrow(() -> new RuntimeException("Review not found!"));
 
-        if (!review.getOwnerId().equals(ownerId)) {
-            throw new RuntimeException("You are not authorized to respond to this review!");
-        }
+            if (!review.getOwnerId().equals(ownerId)) {
+                throw new RuntimeException("You are not authorized to respond to this review!");
+            }
 
-        if (review.getOwnerResponse() != null) {
-            throw new RuntimeException("You have already responded to this review!");
-        }
+            if (review.getOwnerResponse() != null) {
+                throw new RuntimeException("You have already responded to this review!");
+            }
 
-        review.setOwnerResponse(response);
-        review.setOwnerRespondedAt(LocalDateTime.now());
-        review.setUpdatedAt(LocalDateTime.now());
+            review.setOwnerResponse(response);
+            review.setOwnerRespondedAt(LocalDateTime.now());
+            review.setUpdatedAt(LocalDateTime.now());
 
-        return reviewRepository.save(review);
+            return reviewRepository.save(review);
+        });
     }
 
     /**
      * Mark review as helpful
      */
     public Review markHelpful(String reviewId, String userId) {
-        Review review = reviewRepository.findById(reviewId)
-                .orElseThrow(() -> new RuntimeException("Review not found!"));
-
-        if (review.getHelpfulVoterIds().contains(userId)) {
+        // One conditional update: concurrent votes can neither be lost nor counted twice
+        Query query = new Query(Criteria.where("id").is(reviewId).and("helpfulVoterIds").ne(userId));
+        Update update = new Update()
+                .addToSet("helpfulVoterIds", userId)
+                .inc("helpfulCount", 1)
+                .set("updatedAt", LocalDateTime.now())
+                .inc("version", 1);
+        Review review = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Review.class);
+        if (review == null) {
+            if (!reviewRepository.existsById(reviewId)) {
+                throw new RuntimeException("Review not found!");
+            }
             throw new RuntimeException("You have already marked this review as helpful!");
         }
-
-        review.getHelpfulVoterIds().add(userId);
-        review.setHelpfulCount(review.getHelpfulCount() + 1);
-        review.setUpdatedAt(LocalDateTime.now());
-
-        return reviewRepository.save(review);
+        return review;
     }
 
     /**
      * Report a review
      */
     public Review reportReview(String reviewId, String reporterId, String reason) {
-        Review review = reviewRepository.findById(reviewId)
-                .orElseThrow(() -> new RuntimeException("Review not found!"));
-
-        review.setReported(true);
-        review.setReportReason(reason);
-        review.setReportedBy(reporterId);
-        review.setUpdatedAt(LocalDateTime.now());
-
-        return reviewRepository.save(review);
+        Update update = new Update()
+                .set("reported", true)
+                .set("reportReason", reason)
+                .set("reportedBy", reporterId)
+                .set("updatedAt", LocalDateTime.now())
+                .inc("version", 1);
+        Review review = mongoTemplate.findAndModify(new Query(Criteria.where("id").is(reviewId)), update,
+                FindAndModifyOptions.options().returnNew(true), Review.class);
+        if (review == null) {
+            throw new RuntimeException("Review not found!");
+        }
+        return review;
     }
 
     /**
@@ -175,6 +191,19 @@ public class ReviewService {
         return reviewRepository.findByPropertyIdAndStatus(propertyId, Review.ReviewStatus.APPROVED);
     }
 
+    /**
+     * Count and latest update of a property's approved reviews, enough to tell
+     * whether a client's copy of the list or summary is still current
+     */
+    public ReviewListVersion getPropertyReviewsVersion(String propertyId) {
+        long count = reviewRepository.countByPropertyIdAndStatus(propertyId, Review.ReviewStatus.APPROVED);
+        LocalDateTime lastUpdated = reviewRepository
+                .findFirstByPropertyIdAndStatusOrderByUpdatedAtDesc(propertyId, Review.ReviewStatus.APPROVED)
+                .map(Review::getUpdatedAt)
+                .orElse(null);
+        return new ReviewListVersion(count, lastUpdated);
+    }
+
     /**
      * Get all reviews by a reviewer
      */
@@ -223,13 +252,9 @@ public class ReviewService {
      */
     private void updatePropertyRating(String propertyId) {
         PropertyRatingSummary summary = getPropertyRatingSummary(propertyId);
-        Property property = propertyRepository.findById(propertyId).orElse(null);
-        
-        if (property != null) {
-            // If Property model has rating fields, update them here
-            property.setUpdatedAt(LocalDateTime.now());
-            propertyRepository.save(property);
-        }
+        propertyRepository.updateRating(propertyId, summary.averageOverall, summary.totalReviews)
+                .ifPresent(property -> eventPublisher.publishEvent(
+                        new PropertyChangedEvent(property, PropertyChangedEvent.ChangeType.RATING)));
     }
 
     // Helper methods
@@ -266,4 +291,14 @@ public class ReviewService {
             this.recommendCount = recommendCount;
         }
     }
+
+    public static class ReviewListVersion {
+        public final long count;
+        public final LocalDateTime lastUpdated;
+
+        public ReviewListVersion(long count, LocalDateTime lastUpdated) {
+            this.count = count;
+            this.lastUpdated = lastUpdated;
+        }
+    }
 }
@@ -0,0 +1,158 @@
+package com.example.Mess_PgSathi.service;
+
+import com.example.Mess_PgSathi.event.PropertyChangedEvent;
+import com.example.Mess_PgSathi.event.WaitlistPromotedEvent;
+import com.example.Mess_PgSathi.model.Booking;
+import com.example.Mess_PgSathi.model.Property;
+import com.example.Mess_PgSathi.model.RoomHold;
+import com.example.Mess_PgSathi.repository.PropertyRepository;
+import com.example.Mess_PgSathi.repository.RoomHoldRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Room inventory for bookings. A room is taken from availableRooms with a
+ * conditional update when the owner asks for the advance payment and recorded
+ * as a {@link RoomHold}. Paying in time turns the hold into the booked room;
+ * otherwise the sweeper gives the room back once the hold expires. Because the
+ * hold lives in availableRooms, search results reflect it with no extra lookup.
+ * A room given back goes to the head of the property's waitlist first.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RoomHoldService {
+
+    private static final int SWEEP_BATCH_SIZE = 500;
+
+    @Value("${bookings.room-hold.minutes:30}")
+    private long holdMinutes;
+
+    @Value("${bookings.waitlist-hold.hours:48}")
+    private long promotionHoldHours;
+
+    private final RoomHoldRepository roomHoldRepository;
+    private final PropertyRepository propertyRepository;
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Take a room for the booking until the hold expires. A booking promoted
+     * from the waitlist already holds its room; that hold now runs for the
+     * payment window instead.
+     */
+    public RoomHold placeHold(Booking booking) {
+        LocalDateTime now = LocalDateTime.now();
+        RoomHold existing = mongoTemplate.findAndModify(new Query(Criteria.where("_id").is(booking.getId())),
+                new Update().set("expiresAt", now.plusMinutes(holdMinutes)),
+                FindAndModifyOptions.options().returnNew(true), RoomHold.class);
+        if (existing != null) {
+            return existing;
+        }
+
+        reserveRoom(booking.getPropertyId());
+
+        RoomHold hold = new RoomHold(booking.getId(), booking.getPropertyId(), booking.getSeekerId(),
+                now.plusMinutes(holdMinutes), now);
+        try {
+            return roomHoldRepository.insert(hold);
+        } catch (DuplicateKeyException e) {
+            releaseRoom(booking.getPropertyId());
+            throw new RuntimeException("A room is already held for this booking!");
+        }
+    }
+
+    /**
+     * Hold the room handed to a seeker from the waitlist for their new booking,
+     * long enough for the owner to take the booking through to payment
+     */
+    public RoomHold holdPromotedRoom(Booking booking) {
+        LocalDateTime now = LocalDateTime.now();
+        return roomHoldRepository.insert(new RoomHold(booking.getId(), booking.getPropertyId(), booking.getSeekerId(),
+                now.plusHours(promotionHoldHours), now));
+    }
+
+    /**
+     * Remove the booking's hold, keeping its room taken. False when there was
+     * no hold (it expired and was swept, or the booking predates holds).
+     */
+    public boolean claimHold(String bookingId) {
+        return mongoTemplate.findAndRemove(new Query(Criteria.where("_id").is(bookingId)), RoomHold.class) != null;
+    }
+
+    /**
+     * Remove the booking's hold and give its room back, if it still has one
+     */
+    public void releaseHold(String bookingId) {
+        RoomHold hold = mongoTemplate.findAndRemove(new Query(Criteria.where("_id").is(bookingId)), RoomHold.class);
+        if (hold != null) {
+            releaseRoom(hold.getPropertyId());
+        }
+    }
+
+    /**
+     * Give back the rooms of expired holds. Runs every minute. Each hold is
+     * removed with a conditional delete first, so a payment confirmed at the same
+     * moment either claims the hold or finds it gone, never both.
+     */
+    @Scheduled(initialDelay = 60000, fixedDelay = 60000)
+    public void releaseExpiredHolds() {
+        Query expired = new Query(Criteria.where("expiresAt").lte(LocalDateTime.now())).limit(SWEEP_BATCH_SIZE);
+        expired.fields().include("_id");
+
+        int released = 0;
+        List<RoomHold> holds;
+        do {
+            holds = mongoTemplate.find(expired, RoomHold.class);
+            for (RoomHold candidate : holds) {
+                RoomHold hold = mongoTemplate.findAndRemove(new Query(Criteria.where("_id").is(candidate.getBookingId())
+                        .and("expiresAt").lte(LocalDateTime.now())), RoomHold.class);
+                if (hold != null) {
+                    releaseRoom(hold.getPropertyId());
+                    released++;
+                }
+            }
+        } while (holds.size() == SWEEP_BATCH_SIZE);
+
+        if (released > 0) {
+            log.info("Released {} expired room holds", released);
+        }
+    }
+
+    /**
+     * Take one room if any is free
+     */
+    public Property reserveRoom(String propertyId) {
+        Property property = propertyRepository.reserveRoom(propertyId).orElseThrow(() ->
+                propertyRepository.existsById(propertyId)
+                        ? new RuntimeException("Property is sold out, no rooms left for this booking!")
+                        : new RuntimeException("Property not found!"));
+        eventPublisher.publishEvent(new PropertyChangedEvent(property, PropertyChangedEvent.ChangeType.INVENTORY));
+        return property;
+    }
+
+    /**
+     * Give one room back, to the head of the waitlist if anyone is waiting
+     */
+    public void releaseRoom(String propertyId) {
+        propertyRepository.releaseRoom(propertyId).ifPresent(release -> {
+            eventPublisher.publishEvent(new PropertyChangedEvent(release.getProperty(), PropertyChangedEvent.ChangeType.INVENTORY));
+            if (release.getPromoted() != null) {
+                eventPublisher.publishEvent(new WaitlistPromotedEvent(propertyId, release.getPromoted()));
+            }
+        });
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.Mess_PgSathi.service;
 
+import com.example.Mess_PgSathi.event.PreferencesChangedEvent;
 import com.example.Mess_PgSathi.model.Property;
 import com.example.Mess_PgSathi.model.UserPreference;
 import com.example.Mess_PgSathi.repository.UserPreferenceRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -15,6 +17,7 @@ import java.util.List;
 public class UserPreferenceService {
 
     private final UserPreferenceRepository userPreferenceRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Create or update user preferences
@@ -26,14 +29,14 @@ public class UserPreferenceService {
             // Update existing preferences
             updatePreferences(existingPreference, preferences);
             existingPreference.setUpdatedAt(LocalDateTime.now());
-            return userPreferenceRepository.save(existingPreference);
+            return save(existingPreference);
         } else {
             // Create new preferences
             preferences.setUserId(userId);
             preferences.setUserEmail(userEmail);
             preferences.setCreatedAt(LocalDateTime.now());
             preferences.setUpdatedAt(LocalDateTime.now());
-            return userPreferenceRepository.save(preferences);
+            return save(preferences);
         }
     }
 
@@ -62,7 +65,7 @@ public class UserPreferenceService {
         preferences.setCollegeOrWorkplaceAddress(collegeOrWorkplaceAddress);
         preferences.setUpdatedAt(LocalDateTime.now());
 
-        return userPreferenceRepository.save(preferences);
+        return save(preferences);
     }
 
     /**
@@ -77,7 +80,7 @@ public class UserPreferenceService {
         preferences.setIncludeSecurityDeposit(includeSecurityDeposit);
         preferences.setUpdatedAt(LocalDateTime.now());
 
-        return userPreferenceRepository.save(preferences);
+        return save(preferences);
     }
 
     /**
@@ -93,7 +96,7 @@ public class UserPreferenceService {
         preferences.setGenderPreference(genderPreference);
         preferences.setUpdatedAt(LocalDateTime.now());
 
-        return userPreferenceRepository.save(preferences);
+        return save(preferences);
     }
 
     /**
@@ -117,7 +120,7 @@ public class UserPreferenceService {
         preferences.setNeedHousekeeping(needHousekeeping);
         preferences.setUpdatedAt(LocalDateTime.now());
 
-        return userPreferenceRepository.save(preferences);
+        return save(preferences);
     }
 
     /**
@@ -135,7 +138,7 @@ public class UserPreferenceService {
         preferences.setWorkSchedule(workSchedule);
         preferences.setUpdatedAt(LocalDateTime.now());
 
-        return userPreferenceRepository.save(preferences);
+        return save(preferences);
     }
 
     /**
@@ -153,7 +156,7 @@ public class UserPreferenceService {
         preferences.setNotifyPriceDrops(notifyPriceDrops);
         preferences.setUpdatedAt(LocalDateTime.now());
 
-        return userPreferenceRepository.save(preferences);
+        return save(preferences);
     }
 
     /**
@@ -180,7 +183,7 @@ public class UserPreferenceService {
         preferences.setRecentSearches(searches);
         preferences.setUpdatedAt(LocalDateTime.now());
 
-        return userPreferenceRepository.save(preferences);
+        return save(preferences);
     }
 
     /**
@@ -190,7 +193,7 @@ public class UserPreferenceService {
         UserPreference preferences = getOrCreatePreferences(userId);
         preferences.setRecentSearches(new ArrayList<>());
         preferences.setUpdatedAt(LocalDateTime.now());
-        return userPreferenceRepository.save(preferences);
+        return save(preferences);
     }
 
     /**
@@ -198,9 +201,16 @@ public class UserPreferenceService {
      */
     public void deletePreferences(String userId) {
         userPreferenceRepository.deleteByUserId(userId);
+        eventPublisher.publishEvent(new PreferencesChangedEvent(userId));
     }
 
     // Helper methods
+    private UserPreference save(UserPreference preferences) {
+        UserPreference saved = userPreferenceRepository.save(preferences);
+        eventPublisher.publishEvent(new PreferencesChangedEvent(saved.getUserId()));
+        return saved;
+    }
+
     private UserPreference getOrCreatePreferences(String userId) {
         return userPreferenceRepository.findByUserId(userId)
                 .orElseGet(() -> createDefaultPreferences(userId));
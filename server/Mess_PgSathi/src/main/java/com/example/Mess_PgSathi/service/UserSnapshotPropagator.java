@@ -0,0 +1,163 @@
+package com.example.Mess_PgSathi.service;
+
+import com.example.Mess_PgSathi.cache.BoundedCache;
+import com.example.Mess_PgSathi.cache.UserSnapshot;
+import com.example.Mess_PgSathi.event.UserProfileChangedEvent;
+import com.example.Mess_PgSathi.model.Booking;
+import com.example.Mess_PgSathi.model.Favorite;
+import com.example.Mess_PgSathi.model.Inquiry;
+import com.example.Mess_PgSathi.model.Payment;
+import com.example.Mess_PgSathi.model.Property;
+import com.example.Mess_PgSathi.model.Review;
+import com.example.Mess_PgSathi.model.UserPreference;
+import com.example.Mess_PgSathi.model.VisitSchedule;
+import com.example.Mess_PgSathi.payload.response.PropertyResponse;
+import com.example.Mess_PgSathi.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pushes a user's new name, email and phone number into the copies other
+ * documents took when they were created. Runs off the request thread after a
+ * profile change and sends one unordered bulk of updateMany calls per
+ * collection. Only documents whose copy differs are matched, and versioned
+ * documents get their version bumped so a concurrent save retries on fresh data.
+ *
+ * Runs one change at a time and reads the user when it starts, so of two quick
+ * edits the one applied last is always the current profile.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserSnapshotPropagator {
+
+    /**
+     * Where a collection keeps a user's id and copies of their profile; null
+     * means the field is not copied
+     */
+    private record Copy(String idField, String nameField, String emailField, String phoneField) {
+    }
+
+    private static final Map<Class<?>, List<Copy>> COPIES = new LinkedHashMap<>();
+
+    // Served with conditional GETs validated on updatedAt, so a refreshed copy must move it
+    private static final Set<Class<?>> VALIDATED_BY_UPDATED_AT = Set.of(Property.class, Review.class);
+
+    static {
+        COPIES.put(Booking.class, List.of(
+                new Copy("seekerId", "seekerName", "seekerEmail", "seekerPhone"),
+                new Copy("ownerId", "ownerName", "ownerEmail", "ownerPhone")));
+        COPIES.put(Payment.class, List.of(
+                new Copy("seekerId", "seekerName", "seekerEmail", null),
+                new Copy("ownerId", "ownerName", null, null)));
+        COPIES.put(Inquiry.class, List.of(
+                new Copy("seekerId", "seekerName", "seekerEmail", "seekerPhone"),
+                new Copy("ownerId", "ownerName", "ownerEmail", null)));
+        COPIES.put(VisitSchedule.class, List.of(
+                new Copy("seekerId", "seekerName", "seekerEmail", "seekerPhone"),
+                new Copy("ownerId", "ownerName", "ownerEmail", "ownerPhone")));
+        COPIES.put(Favorite.class, List.of(
+                new Copy("userId", "userName", null, null),
+                new Copy("ownerId", "ownerName", null, null)));
+        COPIES.put(Review.class, List.of(
+                new Copy("reviewerId", "reviewerName", null, null),
+                new Copy("ownerId", "ownerName", null, null)));
+        COPIES.put(Property.class, List.of(
+                new Copy("ownerId", "ownerName", "ownerEmail", "ownerPhone")));
+        COPIES.put(UserPreference.class, List.of(
+                new Copy("userId", null, "userEmail", null)));
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final UserRepository userRepository;
+    private final BoundedCache<String, PropertyResponse> propertyDetailCache;
+
+    private final Object propagationLock = new Object();
+
+    @Async
+    @EventListener
+    public void onProfileChanged(UserProfileChangedEvent event) {
+        synchronized (propagationLock) {
+            userRepository.findById(event.getUserId()).map(UserSnapshot::of).ifPresent(this::propagate);
+        }
+    }
+
+    private void propagate(UserSnapshot user) {
+        long started = System.currentTimeMillis();
+        long updated = 0;
+        for (Map.Entry<Class<?>, List<Copy>> collection : COPIES.entrySet()) {
+            try {
+                updated += propagate(collection.getKey(), collection.getValue(), user);
+            } catch (Exception e) {
+                log.error("Failed to refresh user {} in {}: {}", user.getId(),
+                        mongoTemplate.getCollectionName(collection.getKey()), e.getMessage());
+            }
+        }
+        // Owner details are part of the cached property detail
+        propertyDetailCache.invalidateAll();
+        log.info("Refreshed {} copies of user {} in {} ms", updated, user.getId(), System.currentTimeMillis() - started);
+    }
+
+    private long propagate(Class<?> type, List<Copy> copies, UserSnapshot user) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(type);
+        String versionField = entity.hasVersionProperty() ? entity.getRequiredVersionProperty().getFieldName() : null;
+        LocalDateTime now = LocalDateTime.now();
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+        for (Copy copy : copies) {
+            Map<String, String> values = new LinkedHashMap<>();
+            if (copy.nameField() != null) {
+                values.put(copy.nameField(), user.getFullName());
+            }
+            if (copy.emailField() != null) {
+                values.put(copy.emailField(), user.getEmail());
+            }
+            if (copy.phoneField() != null) {
+                values.put(copy.phoneField(), user.getPhoneNumber());
+            }
+
+            List<Criteria> outdated = new ArrayList<>();
+            Update update = new Update();
+            values.forEach((field, value) -> {
+                outdated.add(Criteria.where(field).ne(value));
+                update.set(field, value);
+            });
+            if (versionField != null) {
+                update.inc(versionField, 1);
+            }
+            if (VALIDATED_BY_UPDATED_AT.contains(type)) {
+                update.set("updatedAt", now);
+            }
+            bulk.updateMulti(new Query(Criteria.where(copy.idField()).is(user.getId()).orOperator(outdated)), update);
+        }
+
+        if (type == Inquiry.class) {
+            // The sender name on each message of the thread the user wrote
+            Update update = new Update()
+                    .set("messages.$[sent].senderName", user.getFullName())
+                    .filterArray(Criteria.where("sent.senderId").is(user.getId()));
+            if (versionField != null) {
+                update.inc(versionField, 1);
+            }
+            bulk.updateMulti(new Query(Criteria.where("messages").elemMatch(
+                    Criteria.where("senderId").is(user.getId()).and("senderName").ne(user.getFullName()))), update);
+        }
+        return bulk.execute().getModifiedCount();
+    }
+}
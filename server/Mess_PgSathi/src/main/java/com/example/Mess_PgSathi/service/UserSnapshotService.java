@@ -0,0 +1,108 @@
+package com.example.Mess_PgSathi.service;
+
+import com.example.Mess_PgSathi.cache.BoundedCache;
+import com.example.Mess_PgSathi.cache.UserSnapshot;
+import com.example.Mess_PgSathi.model.User;
+import com.example.Mess_PgSathi.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through lookups of {@link UserSnapshot}s by id or email for the paths
+ * that only need a user's name, contacts or role.
+ *
+ * Two levels: a map held in the current request's attributes, so the auth
+ * filter and every service called while handling one request share a single
+ * lookup per user, and behind it the process-wide userSnapshots cache. Outside
+ * a request (scheduled jobs, async listeners) only the process cache is used.
+ * Whoever writes a user evicts it here; the TTL only bounds staleness from
+ * writes made by other instances.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserSnapshotService {
+
+    private static final String REQUEST_ATTRIBUTE = UserSnapshotService.class.getName() + ".users";
+
+    private final UserRepository userRepository;
+    private final BoundedCache<String, UserSnapshot> userSnapshotCache;
+
+    public Optional<UserSnapshot> findById(String userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(lookup(idKey(userId),
+                key -> userRepository.findById(userId).map(UserSnapshot::of).orElse(null)));
+    }
+
+    public Optional<UserSnapshot> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(lookup(emailKey(email),
+                key -> userRepository.findByEmail(email).map(UserSnapshot::of).orElse(null)));
+    }
+
+    /**
+     * Drop the user under both keys, here and in the current request
+     */
+    public void evict(User user) {
+        evict(idKey(user.getId()));
+        if (user.getEmail() != null) {
+            evict(emailKey(user.getEmail()));
+        }
+    }
+
+    private UserSnapshot lookup(String key, Function<String, UserSnapshot> loader) {
+        Map<String, UserSnapshot> requestUsers = requestUsers();
+        if (requestUsers == null) {
+            return userSnapshotCache.get(key, loader);
+        }
+        UserSnapshot user = requestUsers.get(key);
+        if (user == null) {
+            user = userSnapshotCache.get(key, loader);
+            if (user != null) {
+                requestUsers.put(key, user);
+            }
+        }
+        return user;
+    }
+
+    private void evict(String key) {
+        userSnapshotCache.invalidate(key);
+        Map<String, UserSnapshot> requestUsers = requestUsers();
+        if (requestUsers != null) {
+            requestUsers.remove(key);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, UserSnapshot> requestUsers() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<String, UserSnapshot> users = (Map<String, UserSnapshot>) attributes.getAttribute(REQUEST_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        if (users == null) {
+            users = new HashMap<>();
+            attributes.setAttribute(REQUEST_ATTRIBUTE, users, RequestAttributes.SCOPE_REQUEST);
+        }
+        return users;
+    }
+
+    private static String idKey(String userId) {
+        return "id:" + userId;
+    }
+
+    private static String emailKey(String email) {
+        return "email:" + email;
+    }
+}
@@ -1,10 +1,10 @@
 package com.example.Mess_PgSathi.service;
 
+import com.example.Mess_PgSathi.cache.UserSnapshot;
 import com.example.Mess_PgSathi.model.Property;
 import com.example.Mess_PgSathi.model.User;
 import com.example.Mess_PgSathi.model.VisitSchedule;
 import com.example.Mess_PgSathi.repository.PropertyRepository;
-import com.example.Mess_PgSathi.repository.UserRepository;
 import com.example.Mess_PgSathi.repository.VisitScheduleRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -20,7 +20,7 @@ public class VisitScheduleService {
 
     private final VisitScheduleRepository visitScheduleRepository;
     private final PropertyRepository propertyRepository;
-    private final UserRepository userRepository;
+    private final UserSnapshotService userSnapshotService;
 
     /**
      * Schedule a property visit (Seeker action)
@@ -28,7 +28,7 @@ public class VisitScheduleService {
     public VisitSchedule scheduleVisit(String seekerId, String propertyId, LocalDate visitDate, 
                                        LocalTime visitTime, String visitPurpose, String seekerNote) {
         // Verify seeker exists
-        User seeker = userRepository.findById(seekerId)
+        UserSnapshot seeker = userSnapshotService.findById(seekerId)
                 .orElseThrow(() -> new RuntimeException("User not found!"));
 
         if (!seeker.getRole().equals(User.Role.ROOM_FINDER)) {
@@ -40,7 +40,7 @@ public class VisitScheduleService {
                 .orElseThrow(() -> new RuntimeException("Property not found!"));
 
         // Get owner
-        User owner = userRepository.findById(property.getOwnerId())
+        UserSnapshot owner = userSnapshotService.findById(property.getOwnerId())
                 .orElseThrow(() -> new RuntimeException("Property owner not found!"));
 
         // Validate date is not in past
@@ -80,19 +80,21 @@ public class VisitScheduleService {
      * Owner confirms visit
      */
     public VisitSchedule confirmVisit(String visitId, String ownerId, String ownerNote) {
-        VisitSchedule visit = getVisitAndVerifyOwner(visitId, ownerId);
+        return OptimisticRetry.run(() -> {
+            VisitSchedule visit = getVisitAndVerifyOwner(visitId, ownerId);
 
-        if (visit.getStatus() != VisitSchedule.VisitStatus.PENDING && 
-            visit.getStatus() != VisitSchedule.VisitStatus.RESCHEDULED) {
-            throw new RuntimeException("Visit cannot be confirmed in current state!");
-        }
+            if (visit.getStatus() != VisitSchedule.VisitStatus.PENDING && 
+                visit.getStatus() != VisitSchedule.VisitStatus.RESCHEDULED) {
+                throw new RuntimeException("Visit cannot be confirmed in current state!");
+            }
 
-        visit.setStatus(VisitSchedule.VisitStatus.CONFIRMED);
-        visit.setOwnerNote(ownerNote);
-        visit.setConfirmedAt(LocalDateTime.now());
-        visit.setUpdatedAt(LocalDateTime.now());
+            visit.setStatus(VisitSchedule.VisitStatus.CONFIRMED);
+            visit.setOwnerNote(ownerNote);
+            visit.setConfirmedAt(LocalDateTime.now());
+            visit.setUpdatedAt(LocalDateTime.now());
 
-        return visitScheduleRepository.save(visit);
+            return visitScheduleRepository.save(visit);
+        });
     }
 
     /**
@@ -100,97 +102,105 @@ public class VisitScheduleService {
      */
     public VisitSchedule rescheduleVisit(String visitId, String userId, LocalDate newDate, 
                                          LocalTime newTime, String reason) {
-        VisitSchedule visit = visitScheduleRepository.findById(visitId)
-                .orElseThrow(() -> new RuntimeException("Visit not found!"));
-
-        if (!visit.getSeekerId().equals(userId) && !visit.getOwnerId().equals(userId)) {
-            throw new RuntimeException("You are not authorized to reschedule this visit!");
-        }
-
-        if (visit.getStatus() == VisitSchedule.VisitStatus.COMPLETED || 
-            visit.getStatus() == VisitSchedule.VisitStatus.CANCELLED) {
-            throw new RuntimeException("Cannot reschedule completed or cancelled visit!");
-        }
-
-        // Validate new date is not in past
-        if (newDate.isBefore(LocalDate.now())) {
-            throw new RuntimeException("Cannot reschedule to a past date!");
-        }
-
-        // Store original date/time
-        visit.setOriginalDate(visit.getVisitDate());
-        visit.setOriginalTime(visit.getVisitTime());
-
-        visit.setVisitDate(newDate);
-        visit.setVisitTime(newTime);
-        visit.setRescheduleReason(reason);
-        visit.setStatus(VisitSchedule.VisitStatus.RESCHEDULED);
-        visit.setUpdatedAt(LocalDateTime.now());
-
-        return visitScheduleRepository.save(visit);
+        return OptimisticRetry.run(() -> {
+            VisitSchedule visit = visitScheduleRepository.findById(visitId)
+                    .orElseThrow(() -> new RuntimeException("Visit not found!"));
+
+            if (!visit.getSeekerId().equals(userId) && !visit.getOwnerId().equals(userId)) {
+                throw new RuntimeException("You are not authorized to reschedule this visit!");
+            }
+
+            if (visit.getStatus() == VisitSchedule.VisitStatus.COMPLETED || 
+                visit.getStatus() == VisitSchedule.VisitStatus.CANCELLED) {
+                throw new RuntimeException("Cannot reschedule completed or cancelled visit!");
+            }
+
+            // Validate new date is not in past
+            if (newDate.isBefore(LocalDate.now())) {
+                throw new RuntimeException("Cannot reschedule to a past date!");
+            }
+
+            // Store original date/time
+            visit.setOriginalDate(visit.getVisitDate());
+            visit.setOriginalTime(visit.getVisitTime());
+
+            visit.setVisitDate(newDate);
+            visit.setVisitTime(newTime);
+            visit.setRescheduleReason(reason);
+            visit.setStatus(VisitSchedule.VisitStatus.RESCHEDULED);
+            visit.setUpdatedAt(LocalDateTime.now());
+
+            return visitScheduleRepository.save(visit);
+        });
     }
 
     /**
      * Cancel visit
      */
     public VisitSchedule cancelVisit(String visitId, String userId, String reason) {
-        VisitSchedule visit = visitScheduleRepository.findById(visitId)
-                .orElseThrow(() -> new RuntimeException("Visit not found!"));
-
-        String cancelledBy;
-        if (visit.getSeekerId().equals(userId)) {
-            cancelledBy = "SEEKER";
-        } else if (visit.getOwnerId().equals(userId)) {
-            cancelledBy = "OWNER";
-        } else {
-            throw new RuntimeException("You are not authorized to cancel this visit!");
-        }
-
-        if (visit.getStatus() == VisitSchedule.VisitStatus.COMPLETED) {
-            throw new RuntimeException("Cannot cancel a completed visit!");
-        }
-
-        visit.setStatus(VisitSchedule.VisitStatus.CANCELLED);
-        visit.setCancellationReason(reason);
-        visit.setCancelledBy(cancelledBy);
-        visit.setCancelledAt(LocalDateTime.now());
-        visit.setUpdatedAt(LocalDateTime.now());
-
-        return visitScheduleRepository.save(visit);
+        return OptimisticRetry.run(() -> {
+            VisitSchedule visit = visitScheduleRepository.findById(visitId)
+                    .orElseThrow(() -> new RuntimeException("Visit not found!"));
+
+            String cancelledBy;
+            if (visit.getSeekerId().equals(userId)) {
+                cancelledBy = "SEEKER";
+            } else if (visit.getOwnerId().equals(userId)) {
+                cancelledBy = "OWNER";
+            } else {
+                throw new RuntimeException("You are not authorized to cancel this visit!");
+            }
+
+            if (visit.getStatus() == VisitSchedule.VisitStatus.COMPLETED) {
+                throw new RuntimeException("Cannot cancel a completed visit!");
+            }
+
+            visit.setStatus(VisitSchedule.VisitStatus.CANCELLED);
+            visit.setCancellationReason(reason);
+            visit.setCancelledBy(cancelledBy);
+            visit.setCancelledAt(LocalDateTime.now());
+            visit.setUpdatedAt(LocalDateTime.now());
+
+            return visitScheduleRepository.save(visit);
+        });
     }
 
     /**
      * Mark visit as completed
      */
     public VisitSchedule completeVisit(String visitId, String ownerId, String feedback) {
-        VisitSchedule visit = getVisitAndVerifyOwner(visitId, ownerId);
+        return OptimisticRetry.run(() -> {
+            VisitSchedule visit = getVisitAndVerifyOwner(visitId, ownerId);
 
-        if (visit.getStatus() != VisitSchedule.VisitStatus.CONFIRMED) {
-            throw new RuntimeException("Only confirmed visits can be marked as completed!");
-        }
+            if (visit.getStatus() != VisitSchedule.VisitStatus.CONFIRMED) {
+                throw new RuntimeException("Only confirmed visits can be marked as completed!");
+            }
 
-        visit.setStatus(VisitSchedule.VisitStatus.COMPLETED);
-        visit.setVisitFeedback(feedback);
-        visit.setCompletedAt(LocalDateTime.now());
-        visit.setUpdatedAt(LocalDateTime.now());
+            visit.setStatus(VisitSchedule.VisitStatus.COMPLETED);
+            visit.setVisitFeedback(feedback);
+            visit.setCompletedAt(LocalDateTime.now());
+            visit.setUpdatedAt(LocalDateTime.now());
 
-        return visitScheduleRepository.save(visit);
+            return visitScheduleRepository.save(visit);
+        });
     }
 
     /**
      * Mark as no-show
      */
     public VisitSchedule markNoShow(String visitId, String ownerId) {
-        VisitSchedule visit = getVisitAndVerifyOwner(visitId, ownerId);
+        return OptimisticRetry.run(() -> {
+            VisitSchedule visit = getVisitAndVerifyOwner(visitId, ownerId);
 
-        if (visit.getStatus() != VisitSchedule.VisitStatus.CONFIRMED) {
-            throw new RuntimeException("Only confirmed visits can be marked as no-show!");
-        }
+            if (visit.getStatus() != VisitSchedule.VisitStatus.CONFIRMED) {
+                throw new RuntimeException("Only confirmed visits can be marked as no-show!");
+            }
 
-        visit.setStatus(VisitSchedule.VisitStatus.NO_SHOW);
-        visit.setUpdatedAt(LocalDateTime.now());
+            visit.setStatus(VisitSchedule.VisitStatus.NO_SHOW);
+            visit.setUpdatedAt(LocalDateTime.now());
 
-        return visitScheduleRepository.save(visit);
+            return visitScheduleRepository.save(visit);
+        });
     }
 
     /**
@@ -0,0 +1,23 @@
+package com.example.Mess_PgSathi.service;
+
+import com.example.Mess_PgSathi.model.Booking;
+import com.example.Mess_PgSathi.security.services.EmailService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells promoted seekers off the request thread, so a slow mail server never
+ * holds up the cancellation or check-out that freed the room.
+ */
+@Component
+@RequiredArgsConstructor
+public class WaitlistNotifier {
+
+    private final EmailService emailService;
+
+    @Async
+    public void notifyPromoted(Booking booking) {
+        emailService.sendWaitlistPromotionEmail(booking.getSeekerEmail(), booking.getSeekerName(), booking.getPropertyName());
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.Mess_PgSathi.service;
+
+import com.example.Mess_PgSathi.cache.UserSnapshot;
+import com.example.Mess_PgSathi.event.WaitlistPromotedEvent;
+import com.example.Mess_PgSathi.model.Booking;
+import com.example.Mess_PgSathi.model.Property;
+import com.example.Mess_PgSathi.model.User;
+import com.example.Mess_PgSathi.payload.response.WaitlistResponse;
+import com.example.Mess_PgSathi.repository.PropertyInventoryRepository;
+import com.example.Mess_PgSathi.repository.PropertyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * First come, first served waitlist for full properties. The list lives on the
+ * property document, so a room given back is handed to the first seeker in the
+ * same update that returns it (see PropertyInventoryRepository#releaseRoom).
+ * The promoted seeker gets a booking request holding that room and an email.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistService {
+
+    private final PropertyRepository propertyRepository;
+    private final UserSnapshotService userSnapshotService;
+    private final BookingService bookingService;
+    private final WaitlistNotifier waitlistNotifier;
+
+    /**
+     * Join the waitlist of a full property (Seeker action)
+     */
+    public WaitlistResponse joinWaitlist(String seekerId, String propertyId, LocalDate checkInDate, int numberOfMonths) {
+        UserSnapshot seeker = userSnapshotService.findById(seekerId)
+                .orElseThrow(() -> new RuntimeException("Seeker not found!"));
+        if (!seeker.getRole().equals(User.Role.ROOM_FINDER)) {
+            throw new RuntimeException("Only room finders can join a waitlist!");
+        }
+        if (bookingService.hasOpenBooking(seekerId, propertyId)) {
+            throw new RuntimeException("You already have an active booking for this property!");
+        }
+
+        Property.WaitlistEntry entry = new Property.WaitlistEntry(seekerId, checkInDate, numberOfMonths, LocalDateTime.now());
+        Property property = propertyRepository.joinWaitlist(propertyId, entry).orElseThrow(() -> {
+            // Work out which condition of the update failed
+            Property current = propertyRepository.findById(propertyId)
+                    .orElseThrow(() -> new RuntimeException("Property not found!"));
+            if (current.getStatus() != Property.PropertyStatus.ACTIVE) {
+                return new RuntimeException("This property is not available for booking!");
+            }
+            if (current.getAvailableRooms() != null && current.getAvailableRooms() > 0) {
+                return new RuntimeException("Rooms are available, please send a booking request instead!");
+            }
+            if (current.getWaitlist().stream().anyMatch(waiting -> seekerId.equals(waiting.getSeekerId()))) {
+                return new RuntimeException("You are already on the waitlist for this property!");
+            }
+            return new RuntimeException("The waitlist for this property is full!");
+        });
+        return position(property, seekerId);
+    }
+
+    /**
+     * Leave a waitlist (Seeker action)
+     */
+    public void leaveWaitlist(String seekerId, String propertyId) {
+        if (!propertyRepository.leaveWaitlist(propertyId, seekerId)) {
+            throw new RuntimeException("You are not on the waitlist for this property!");
+        }
+    }
+
+    /**
+     * Where the seeker stands on a property's waitlist
+     */
+    public WaitlistResponse getPosition(String seekerId, String propertyId) {
+        Property property = propertyRepository.findById(propertyId)
+                .orElseThrow(() -> new RuntimeException("Property not found!"));
+        return position(property, seekerId);
+    }
+
+    @EventListener
+    public void onWaitlistPromoted(WaitlistPromotedEvent event) {
+        try {
+            Booking booking = bookingService.createPromotedBooking(event.getPropertyId(), event.getEntry());
+            log.info("Seeker {} promoted from the waitlist of property {}", booking.getSeekerId(), booking.getPropertyId());
+            waitlistNotifier.notifyPromoted(booking);
+        } catch (Exception e) {
+            // The room has already been passed on to the next seeker (or back to inventory)
+            log.error("Failed to promote seeker {} on property {}: {}",
+                    event.getEntry().getSeekerId(), event.getPropertyId(), e.getMessage());
+        }
+    }
+
+    private static WaitlistResponse position(Property property, String seekerId) {
+        List<Property.WaitlistEntry> waitlist = property.getWaitlist();
+        for (int i = 0; i < waitlist.size(); i++) {
+            Property.WaitlistEntry entry = waitlist.get(i);
+            if (seekerId.equals(entry.getSeekerId())) {
+                return new WaitlistResponse(property.getId(), i + 1, waitlist.size(),
+                        entry.getCheckInDate(), entry.getNumberOfMonths(), entry.getJoinedAt());
+            }
+        }
+        throw new RuntimeException("You are not on the waitlist for this property!");
+    }
+}
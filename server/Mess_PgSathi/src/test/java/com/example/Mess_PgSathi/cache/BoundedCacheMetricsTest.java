@@ -0,0 +1,31 @@
+package com.example.Mess_PgSathi.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedCacheMetricsTest {
+
+    @Test
+    void publishesTheCacheCounters() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 100, Duration.ofMinutes(1), String::length);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new BoundedCacheMetrics(cache).bindTo(registry);
+
+        cache.get("a", key -> "aaaa");
+        cache.get("a", key -> "aaaa");
+        cache.invalidate("a");
+
+        assertThat(registry.get("cache.gets").tag("cache", "test").tag("result", "hit").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("cache.gets").tag("cache", "test").tag("result", "miss").functionCounter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("cache.puts").tag("cache", "test").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.invalidations").tag("cache", "test").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.size").tag("cache", "test").gauge().value()).isZero();
+        assertThat(registry.get("cache.weight").tag("cache", "test").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.Mess_PgSathi.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedOverWeight() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 10, Duration.ofMinutes(1), String::length);
+        cache.put("a", "aaaa");
+        cache.put("b", "bbbb");
+        cache.getIfPresent("a");
+
+        cache.put("c", "cccc");
+
+        assertThat(cache.getIfPresent("a")).isEqualTo("aaaa");
+        assertThat(cache.getIfPresent("b")).isNull();
+        assertThat(cache.getIfPresent("c")).isEqualTo("cccc");
+        BoundedCache.Stats stats = cache.stats();
+        assertThat(stats.getWeight()).isEqualTo(8);
+        assertThat(stats.getEvictions()).isEqualTo(1);
+    }
+
+    @Test
+    void skipsValuesHeavierThanTheWholeCache() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 3, Duration.ofMinutes(1), String::length);
+        cache.put("a", "a");
+
+        cache.put("big", "bbbb");
+
+        assertThat(cache.getIfPresent("big")).isNull();
+        assertThat(cache.getIfPresent("a")).isEqualTo("a");
+    }
+
+    @Test
+    void replacingAKeyReplacesItsWeight() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 10, Duration.ofMinutes(1), String::length);
+        cache.put("a", "aaaa");
+
+        cache.put("a", "aa");
+
+        assertThat(cache.stats().getWeight()).isEqualTo(2);
+        assertThat(cache.stats().getSize()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredEntriesAreReloaded() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 100, Duration.ZERO, String::length);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("a", key -> "v" + loads.incrementAndGet());
+        String second = cache.get("a", key -> "v" + loads.incrementAndGet());
+
+        assertThat(second).isEqualTo("v2");
+        assertThat(cache.stats().getExpirations()).isEqualTo(1);
+    }
+
+    @Test
+    void liveEntriesAreServedFromTheCache() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 100, Duration.ofMinutes(1), String::length);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("a", key -> "v" + loads.incrementAndGet());
+        String second = cache.get("a", key -> "v" + loads.incrementAndGet());
+
+        assertThat(second).isEqualTo("v1");
+        assertThat(cache.stats().getHits()).isEqualTo(1);
+        assertThat(cache.stats().getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void loadOverlappingItsKeysInvalidationIsNotStored() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 100, Duration.ofMinutes(1), String::length);
+
+        String loaded = cache.get("a", key -> {
+            cache.invalidate("a");
+            return "stale";
+        });
+
+        assertThat(loaded).isEqualTo("stale");
+        assertThat(cache.getIfPresent("a")).isNull();
+    }
+
+    @Test
+    void loadOverlappingAnotherKeysInvalidationIsStored() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 100, Duration.ofMinutes(1), String::length);
+
+        cache.get("a", key -> {
+            cache.invalidate("b");
+            return "fresh";
+        });
+
+        assertThat(cache.getIfPresent("a")).isEqualTo("fresh");
+    }
+
+    @Test
+    void batchLoadSkipsOnlyInvalidatedKeys() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 100, Duration.ofMinutes(1), String::length);
+
+        cache.getAll(List.of("a", "b"), missing -> {
+            cache.invalidate("a");
+            return Map.of("a", "stale", "b", "fresh");
+        });
+
+        assertThat(cache.getIfPresent("a")).isNull();
+        assertThat(cache.getIfPresent("b")).isEqualTo("fresh");
+    }
+
+    @Test
+    void loadOverlappingInvalidateAllIsNotStored() {
+        BoundedCache<String, String> cache = new BoundedCache<>("test", 100, Duration.ofMinutes(1), String::length);
+
+        cache.get("a", key -> {
+            cache.invalidateAll();
+            return "stale";
+        });
+
+        assertThat(cache.getIfPresent("a")).isNull();
+    }
+}
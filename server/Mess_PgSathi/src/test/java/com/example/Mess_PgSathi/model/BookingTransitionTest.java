@@ -0,0 +1,58 @@
+package com.example.Mess_PgSathi.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+
+import static com.example.Mess_PgSathi.model.Booking.BookingStatus.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingTransitionTest {
+
+    @Test
+    void ownerAnswersOnlyPendingRequests() {
+        assertThat(allowedFrom(BookingTransition.CONFIRM)).containsExactly(PENDING);
+        assertThat(allowedFrom(BookingTransition.REJECT)).containsExactly(PENDING);
+    }
+
+    @Test
+    void documentsAndPaymentFollowInOrder() {
+        assertThat(allowedFrom(BookingTransition.SUBMIT_DOCUMENTS)).containsExactly(OWNER_CONFIRMED);
+        assertThat(allowedFrom(BookingTransition.APPROVE_DOCUMENTS)).containsExactly(DOCS_SUBMITTED);
+        assertThat(allowedFrom(BookingTransition.REJECT_DOCUMENTS)).containsExactly(DOCS_SUBMITTED);
+        assertThat(allowedFrom(BookingTransition.REQUEST_PAYMENT)).containsExactly(DOCS_VERIFIED);
+        assertThat(allowedFrom(BookingTransition.CONFIRM_PAYMENT)).containsExactly(PAYMENT_PENDING);
+        assertThat(allowedFrom(BookingTransition.COMPLETE)).containsExactly(ACTIVE);
+    }
+
+    @Test
+    void cancelIsAllowedUntilTheBookingHasEnded() {
+        assertThat(allowedFrom(BookingTransition.CANCEL)).containsExactlyInAnyOrder(
+                PENDING, OWNER_CONFIRMED, DOCS_SUBMITTED, DOCS_VERIFIED, DOCS_REJECTED, PAYMENT_PENDING, ACTIVE);
+        assertThat(BookingTransition.CANCEL.allowsFrom(COMPLETED)).isFalse();
+        assertThat(BookingTransition.CANCEL.allowsFrom(CANCELLED)).isFalse();
+        assertThat(BookingTransition.CANCEL.allowsFrom(OWNER_REJECTED)).isFalse();
+    }
+
+    @Test
+    void requestStartsFromNothing() {
+        assertThat(allowedFrom(BookingTransition.REQUEST)).isEmpty();
+        assertThat(BookingTransition.REQUEST.allowsFrom(null)).isFalse();
+    }
+
+    @Test
+    void transitionsEndInTheirTargetStatus() {
+        assertThat(BookingTransition.CONFIRM.getTo()).isEqualTo(OWNER_CONFIRMED);
+        assertThat(BookingTransition.CONFIRM_PAYMENT.getTo()).isEqualTo(ACTIVE);
+        assertThat(BookingTransition.CANCEL.getActor()).isEqualTo(BookingTransition.Actor.EITHER);
+    }
+
+    private static EnumSet<Booking.BookingStatus> allowedFrom(BookingTransition transition) {
+        EnumSet<Booking.BookingStatus> allowed = EnumSet.noneOf(Booking.BookingStatus.class);
+        Arrays.stream(Booking.BookingStatus.values())
+                .filter(transition::allowsFrom)
+                .forEach(allowed::add);
+        return allowed;
+    }
+}
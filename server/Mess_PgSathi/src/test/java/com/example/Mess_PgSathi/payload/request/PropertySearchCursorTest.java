@@ -0,0 +1,64 @@
+package com.example.Mess_PgSathi.payload.request;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PropertySearchCursorTest {
+
+    @Test
+    void roundTripsNewestCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 14, 9, 26, 53, 589_000_000);
+        String token = new PropertySearchCursor(PropertySearchRequest.SortBy.NEWEST, createdAt, "p1").encode();
+
+        PropertySearchCursor cursor = PropertySearchCursor.decode(token, PropertySearchRequest.SortBy.NEWEST);
+
+        assertThat(cursor.getSort()).isEqualTo(PropertySearchRequest.SortBy.NEWEST);
+        assertThat(cursor.getValue()).isEqualTo(createdAt);
+        assertThat(cursor.getId()).isEqualTo("p1");
+    }
+
+    @Test
+    void roundTripsNumericCursor() {
+        String token = new PropertySearchCursor(PropertySearchRequest.SortBy.DISTANCE, 1.2345, "p2").encode();
+
+        PropertySearchCursor cursor = PropertySearchCursor.decode(token, PropertySearchRequest.SortBy.DISTANCE);
+
+        assertThat(cursor.getValue()).isEqualTo(1.2345);
+        assertThat(cursor.getId()).isEqualTo("p2");
+    }
+
+    @Test
+    void roundTripsMissingValue() {
+        String token = new PropertySearchCursor(PropertySearchRequest.SortBy.RATING, null, "p3").encode();
+
+        PropertySearchCursor cursor = PropertySearchCursor.decode(token, PropertySearchRequest.SortBy.RATING);
+
+        assertThat(cursor.getValue()).isNull();
+        assertThat(cursor.getId()).isEqualTo("p3");
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = new PropertySearchCursor(PropertySearchRequest.SortBy.RENT, 5999.5, "665f1c2e9b1e8a3d4c7f0a12").encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsCursorOfAnotherSort() {
+        String token = new PropertySearchCursor(PropertySearchRequest.SortBy.RENT, 6000.0, "p4").encode();
+
+        assertThatThrownBy(() -> PropertySearchCursor.decode(token, PropertySearchRequest.SortBy.RATING))
+                .hasMessage("Invalid or expired cursor!");
+    }
+
+    @Test
+    void rejectsGarbage() {
+        assertThatThrownBy(() -> PropertySearchCursor.decode("not a cursor!", PropertySearchRequest.SortBy.RENT))
+                .hasMessage("Invalid or expired cursor!");
+    }
+}
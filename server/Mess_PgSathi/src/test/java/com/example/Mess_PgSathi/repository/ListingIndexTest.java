@@ -0,0 +1,109 @@
+package com.example.Mess_PgSathi.repository;
+
+import com.example.Mess_PgSathi.event.PropertyChangedEvent;
+import com.example.Mess_PgSathi.model.Property;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ListingIndexTest {
+
+    private static final int WIFI = Property.Amenity.WIFI.bit();
+    private static final int GYM = Property.Amenity.GYM.bit();
+
+    // Fed by property events only; MongoDB is read by rebuild()
+    private final ListingIndex index = new ListingIndex(null);
+
+    @Test
+    void matchesEveryRequiredAmenity() {
+        put(property("p1", "Pune", true, true));
+        put(property("p2", "Pune", true, false));
+        put(property("p3", "Mumbai", true, true));
+
+        assertThat(index.findIds("pune", WIFI)).containsExactlyInAnyOrder("p1", "p2");
+        assertThat(index.findIds("pune", WIFI | GYM)).containsExactly("p1");
+        assertThat(index.findIds("nagpur", WIFI)).isEmpty();
+    }
+
+    @Test
+    void removalMovesTheLastListingIntoTheFreedSlot() {
+        put(property("p1", "Pune", true, false));
+        put(property("p2", "Pune", true, false));
+        put(property("p3", "Pune", true, false));
+
+        delete(property("p1", "Pune", true, false));
+
+        assertThat(idsInCity("pune")).containsExactly("p3", "p2");
+
+        // The moved listing is updated and removed through its new slot
+        put(property("p3", "Pune", false, true));
+        assertThat(index.findIds("pune", WIFI)).containsExactly("p2");
+        assertThat(index.findIds("pune", GYM)).containsExactly("p3");
+
+        delete(property("p3", "Pune", false, true));
+        assertThat(idsInCity("pune")).containsExactly("p2");
+    }
+
+    @Test
+    void removingTheLastSlotLeavesTheOthers() {
+        put(property("p1", "Pune", true, false));
+        put(property("p2", "Pune", true, false));
+
+        delete(property("p2", "Pune", true, false));
+
+        assertThat(idsInCity("pune")).containsExactly("p1");
+    }
+
+    @Test
+    void growsPastTheInitialCapacity() {
+        for (int i = 0; i < 40; i++) {
+            put(property("p" + i, "Pune", i % 2 == 0, false));
+        }
+        for (int i = 0; i < 40; i += 4) {
+            delete(property("p" + i, "Pune", true, false));
+        }
+
+        assertThat(idsInCity("pune")).hasSize(30);
+        assertThat(index.findIds("pune", WIFI)).hasSize(10);
+    }
+
+    @Test
+    void movingCityOrDeactivatingDropsTheOldEntry() {
+        put(property("p1", "Pune", true, false));
+
+        Property moved = property("p1", "Mumbai", true, false);
+        put(moved);
+        assertThat(idsInCity("pune")).isEmpty();
+        assertThat(idsInCity("mumbai")).containsExactly("p1");
+
+        moved.setStatus(Property.PropertyStatus.INACTIVE);
+        put(moved);
+        assertThat(idsInCity("mumbai")).isEmpty();
+    }
+
+    private void put(Property property) {
+        index.onPropertyChanged(new PropertyChangedEvent(property, PropertyChangedEvent.ChangeType.UPDATED));
+    }
+
+    private void delete(Property property) {
+        index.onPropertyChanged(new PropertyChangedEvent(property, PropertyChangedEvent.ChangeType.DELETED));
+    }
+
+    private List<String> idsInCity(String city) {
+        List<String> ids = new ArrayList<>();
+        index.forEachInCity(city, listing -> ids.add(listing.getId()));
+        return ids;
+    }
+
+    private static Property property(String id, String city, boolean wifi, boolean gym) {
+        Property property = new Property();
+        property.setId(id);
+        property.setCity(city);
+        property.setWifi(wifi);
+        property.setGym(gym);
+        return property;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.Mess_PgSathi.service;
+
+import com.example.Mess_PgSathi.event.PropertyChangedEvent;
+import com.example.Mess_PgSathi.model.Property;
+import com.example.Mess_PgSathi.payload.response.SuggestionResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class AutocompleteServiceTest {
+
+    // The dictionary is fed by property events; MongoDB is only read by rebuild()
+    private final AutocompleteService service = new AutocompleteService(null);
+
+    @Test
+    void findsValuesByTheStartOfAnyWord() {
+        list(property("p1", "Pune", "Phoenix Mall Road"));
+
+        assertThat(texts(service.suggest("mall", null))).containsExactly("Phoenix Mall Road");
+        assertThat(texts(service.suggest("road", null))).containsExactly("Phoenix Mall Road");
+        assertThat(service.suggest("all", null)).isEmpty();
+    }
+
+    @Test
+    void normalizesThePrefix() {
+        list(property("p1", "Pune", "Shivaji-Nagar Bus Stand"));
+
+        assertThat(texts(service.suggest("  SHIVAJI nagar", null))).containsExactly("Shivaji-Nagar Bus Stand");
+    }
+
+    @Test
+    void ranksByListingCount() {
+        list(property("p1", "Pune", null));
+        list(property("p2", "Pune", null));
+        list(property("p3", "Punawale", null));
+        list(property("p4", "Punawale", null));
+        list(property("p5", "Punawale", null));
+
+        assertThat(service.suggest("pun", null))
+                .extracting(SuggestionResponse::getText, SuggestionResponse::getCount)
+                .containsExactly(tuple("Punawale", 3), tuple("Pune", 2));
+    }
+
+    @Test
+    void reranksAfterListingsAreRemoved() {
+        list(property("p1", "Pune", null));
+        list(property("p2", "Pune", null));
+        list(property("p3", "Punawale", null));
+        list(property("p4", "Punawale", null));
+        list(property("p5", "Punawale", null));
+        service.suggest("pun", null);
+
+        delete(property("p3", "Punawale", null));
+        delete(property("p4", "Punawale", null));
+
+        assertThat(service.suggest("pun", null))
+                .extracting(SuggestionResponse::getText, SuggestionResponse::getCount)
+                .containsExactly(tuple("Pune", 2), tuple("Punawale", 1));
+
+        delete(property("p5", "Punawale", null));
+
+        assertThat(texts(service.suggest("pun", null))).containsExactly("Pune");
+    }
+
+    @Test
+    void removedValuesLeaveSharedPrefixesIntact() {
+        list(property("p1", "Pune", "Punawale Chowk"));
+        list(property("p2", "Punawale", null));
+
+        delete(property("p1", "Pune", "Punawale Chowk"));
+
+        assertThat(texts(service.suggest("pun", null))).containsExactly("Punawale");
+        assertThat(service.suggest("chowk", null)).isEmpty();
+
+        list(property("p1", "Pune", "Punawale Chowk"));
+
+        assertThat(texts(service.suggest("chowk", null))).containsExactly("Punawale Chowk");
+        assertThat(texts(service.suggest("pune", null))).containsExactly("Pune");
+    }
+
+    @Test
+    void editedValuesReplaceTheOldOnes() {
+        list(property("p1", "Pune", "Old Landmark"));
+
+        Property edited = property("p1", "Pune", "New Landmark");
+        service.onPropertyChanged(new PropertyChangedEvent(edited, PropertyChangedEvent.ChangeType.UPDATED));
+
+        assertThat(service.suggest("old", null)).isEmpty();
+        assertThat(texts(service.suggest("landmark", null))).containsExactly("New Landmark");
+    }
+
+    @Test
+    void capsTheNumberOfSuggestions() {
+        for (int i = 0; i < 30; i++) {
+            list(property("p" + i, "Pune", "Gate " + i));
+        }
+
+        assertThat(service.suggest("gate", 5)).hasSize(5);
+        assertThat(service.suggest("gate", 500)).hasSize(20);
+    }
+
+    private void list(Property property) {
+        service.onPropertyChanged(new PropertyChangedEvent(property, PropertyChangedEvent.ChangeType.CREATED));
+    }
+
+    private void delete(Property property) {
+        service.onPropertyChanged(new PropertyChangedEvent(property, PropertyChangedEvent.ChangeType.DELETED));
+    }
+
+    private static Property property(String id, String city, String landmarks) {
+        Property property = new Property();
+        property.setId(id);
+        property.setCity(city);
+        property.setNearbyLandmarks(landmarks);
+        return property;
+    }
+
+    private static List<String> texts(List<SuggestionResponse> suggestions) {
+        return suggestions.stream().map(SuggestionResponse::getText).toList();
+    }
+}
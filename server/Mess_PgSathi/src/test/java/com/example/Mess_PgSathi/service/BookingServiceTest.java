@@ -0,0 +1,51 @@
+package com.example.Mess_PgSathi.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingServiceTest {
+
+    @Test
+    void timelineCursorRoundTrips() {
+        LocalDateTime at = LocalDateTime.of(2025, 6, 1, 18, 30, 0, 123_456_000);
+
+        String[] decoded = BookingService.decodeTimelineCursor(BookingService.encodeTimelineCursor(at, "e42"));
+
+        assertThat(LocalDateTime.parse(decoded[0])).isEqualTo(at);
+        assertThat(decoded[1]).isEqualTo("e42");
+    }
+
+    @Test
+    void timelineCursorKeepsWholeMinutes() {
+        // LocalDateTime.toString drops zero seconds
+        LocalDateTime at = LocalDateTime.of(2025, 6, 1, 18, 30);
+
+        String[] decoded = BookingService.decodeTimelineCursor(BookingService.encodeTimelineCursor(at, "e1"));
+
+        assertThat(LocalDateTime.parse(decoded[0])).isEqualTo(at);
+    }
+
+    @Test
+    void timelineCursorWithoutIdIsRejected() {
+        String token = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("2025-06-01T18:30".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> BookingService.decodeTimelineCursor(token))
+                .hasMessage("Invalid timeline cursor!");
+    }
+
+    @Test
+    void timelineCursorWithBadTimeIsRejected() {
+        String token = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("yesterday|e1".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> BookingService.decodeTimelineCursor(token))
+                .hasMessage("Invalid timeline cursor!");
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.Mess_PgSathi.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PropertyImportServiceTest {
+
+    @Test
+    void readsPlainCells() throws IOException {
+        BufferedReader reader = reader("name,city,monthlyRent\nGreen PG,Pune,6000\n");
+
+        assertThat(PropertyImportService.readCsvRecord(reader)).containsExactly("name", "city", "monthlyRent");
+        assertThat(PropertyImportService.readCsvRecord(reader)).containsExactly("Green PG", "Pune", "6000");
+        assertThat(PropertyImportService.readCsvRecord(reader)).isNull();
+    }
+
+    @Test
+    void keepsCommasInsideQuotes() throws IOException {
+        List<String> record = PropertyImportService.readCsvRecord(reader("\"Near FC Road, Deccan\",Pune"));
+
+        assertThat(record).containsExactly("Near FC Road, Deccan", "Pune");
+    }
+
+    @Test
+    void unescapesDoubledQuotes() throws IOException {
+        List<String> record = PropertyImportService.readCsvRecord(reader("\"The \"\"Blue\"\" House\",\"\"\"\""));
+
+        assertThat(record).containsExactly("The \"Blue\" House", "\"");
+    }
+
+    @Test
+    void keepsEmptyCells() throws IOException {
+        List<String> record = PropertyImportService.readCsvRecord(reader("a,,\"\",b,"));
+
+        assertThat(record).containsExactly("a", "", "", "b", "");
+    }
+
+    @Test
+    void joinsLinesOfAQuotedCell() throws IOException {
+        BufferedReader reader = reader("\"No smoking\nNo pets\",Pune\nnext,row\n");
+
+        assertThat(PropertyImportService.readCsvRecord(reader)).containsExactly("No smoking\nNo pets", "Pune");
+        assertThat(PropertyImportService.readCsvRecord(reader)).containsExactly("next", "row");
+    }
+
+    @Test
+    void rejectsUnterminatedQuote() {
+        BufferedReader reader = reader("\"Green PG,Pune\nnext,row\n");
+
+        assertThatThrownBy(() -> PropertyImportService.readCsvRecord(reader))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("CSV ends inside a quoted cell!");
+    }
+
+    private static BufferedReader reader(String text) {
+        return new BufferedReader(new StringReader(text));
+    }
+}